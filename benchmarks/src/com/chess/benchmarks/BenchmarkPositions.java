@@ -0,0 +1,47 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.pieces.Piece;
+
+/*
+ * The positions every benchmark runs against, so numbers from different runs and different
+ * benchmarks stay comparable. Add new positions at the end; renaming one breaks baselines.
+ */
+public enum BenchmarkPositions {
+
+    STANDARD("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"),
+    // "Kiwipete": castles both ways, pins, en passant and promotions within a few plies
+    MIDDLEGAME("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+    ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"),
+    PROMOTIONS("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1");
+
+    private final String fen;
+
+    BenchmarkPositions(final String fen) {
+        this.fen = fen;
+    }
+
+    public String getFen() {
+        return this.fen;
+    }
+
+    public Board createBoard() {
+        return FenUtilities.createBoardFromFEN(this.fen);
+    }
+
+    // A Builder holding this position, so Builder.build() can be measured on its own
+    public Board.Builder createBuilder() {
+        final Board board = createBoard();
+        final Board.Builder builder = new Board.Builder();
+        for (final Piece piece : board.getWhitePieces()) {
+            builder.setPiece(piece);
+        }
+        for (final Piece piece : board.getBlackPieces()) {
+            builder.setPiece(piece);
+        }
+        builder.setMoveMaker(board.getMoveMaker());
+        builder.setEnPassantPawn(board.getEnPassantPawn());
+        return builder;
+    }
+}
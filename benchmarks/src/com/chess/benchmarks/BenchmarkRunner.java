@@ -0,0 +1,38 @@
+package com.chess.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/*
+ * Runs the suite with the GC profiler, so every result comes with its allocation rate
+ * (gc.alloc.rate.norm is bytes per operation), and writes results.json for comparing runs.
+ * Mode and time unit come from each benchmark's own annotations.
+ *
+ *   java com.chess.benchmarks.BenchmarkRunner [regex]     e.g. "MoveBenchmark" or ".*build"
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        throw new RuntimeException("Cannot instantiate BenchmarkRunner!");
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "com\\.chess\\.benchmarks\\..*")
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .resultFormat(ResultFormatType.JSON)
+                .result("results.json")
+                .build();
+        new Runner(options).run();
+    }
+}
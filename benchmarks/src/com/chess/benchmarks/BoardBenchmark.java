@@ -0,0 +1,42 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoardBenchmark {
+
+    @State(Scope.Thread)
+    public static class BuilderState {
+
+        @Param({"STANDARD", "MIDDLEGAME", "ENDGAME"})
+        public BenchmarkPositions position;
+
+        Board.Builder builder;
+
+        @Setup
+        public void setUp() {
+            this.builder = this.position.createBuilder();
+        }
+    }
+
+    @Benchmark
+    public Board createStandardBoard() {
+        return Board.createStandardBoard();
+    }
+
+    @Benchmark
+    public Board build(final BuilderState state) {
+        return state.builder.build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Move.execute() for each Move subclass, using the first such move found in the benchmark
+ * positions (and one ply beyond them, for en passant).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoveBenchmark {
+
+    @Param({"MajorMove", "MajorAttackMove", "PawnMove", "PawnAttackMove", "PawnJump",
+            "PawnEnPassantAttackMove", "PawnPromotion", "KingsideCastleMove", "QueensideCastleMove"})
+    public String moveType;
+
+    private Move move;
+
+    @Setup
+    public void setUp() {
+        for (final BenchmarkPositions position : BenchmarkPositions.values()) {
+            final Board board = position.createBoard();
+            this.move = findMove(board);
+            if (this.move != null) {
+                return;
+            }
+            for (final Move reply : board.currentPlayer().getLegalMoves()) {
+                this.move = findMove(reply.execute());
+                if (this.move != null) {
+                    return;
+                }
+            }
+        }
+        throw new IllegalStateException("No " + this.moveType + " in the benchmark positions");
+    }
+
+    @Benchmark
+    public Board execute() {
+        return this.move.execute();
+    }
+
+    private Move findMove(final Board board) {
+        for (final Move candidate : board.currentPlayer().getLegalMoves()) {
+            if (candidate.getClass().getSimpleName().equals(this.moveType)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Piece.calculateLegalMoves for one piece of each type. Players memoise their legal moves, so
+ * "cached" asks a board that has already generated them and "cold" builds a fresh board first
+ * (subtract BoardBenchmark.build for the generation cost alone).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PieceBenchmark {
+
+    @Param({"MIDDLEGAME", "PROMOTIONS"})
+    public BenchmarkPositions position;
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public PieceType pieceType;
+
+    private Board board;
+    private Board.Builder builder;
+    private Piece piece;
+
+    @Setup
+    public void setUp() {
+        this.builder = this.position.createBuilder();
+        this.board = this.builder.build();
+        for (final Piece candidate : this.board.currentPlayer().getActivePieces()) {
+            if (candidate.getPieceType() == this.pieceType) {
+                this.piece = candidate;
+                break;
+            }
+        }
+        if (this.piece == null) {
+            throw new IllegalStateException("No " + this.pieceType + " to move in " + this.position);
+        }
+        this.piece.calculateLegalMoves(this.board);
+    }
+
+    @Benchmark
+    public Collection<Move> cached() {
+        return this.piece.calculateLegalMoves(this.board);
+    }
+
+    @Benchmark
+    public Collection<Move> cold() {
+        return this.piece.calculateLegalMoves(this.builder.build());
+    }
+}
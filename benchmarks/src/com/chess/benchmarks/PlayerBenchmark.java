@@ -0,0 +1,71 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.GameStatus;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.player.MoveTransition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The calls the GUI makes per human move. Each runs on a board freshly built from the
+ * position, as Table would see after the previous move, so memoised move lists do not hide
+ * the cost; BoardBenchmark.build is the share of that spent building the board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerBenchmark {
+
+    @Param({"STANDARD", "MIDDLEGAME", "ENDGAME"})
+    public BenchmarkPositions position;
+
+    private Board.Builder builder;
+    private int currentCoordinate;
+    private int destinationCoordinate;
+    private int packedMove;
+
+    @Setup
+    public void setUp() {
+        this.builder = this.position.createBuilder();
+        final Move move = this.builder.build().currentPlayer().getLegalMoves().iterator().next();
+        this.currentCoordinate = move.getCurrentCoordinate();
+        this.destinationCoordinate = move.getDestinationCoordinate();
+        this.packedMove = move.getPackedMove();
+    }
+
+    @Benchmark
+    public MoveTransition makeMove() {
+        final Board board = this.builder.build();
+        return board.currentPlayer().makeMove(MoveFactory.createMove(board, this.packedMove));
+    }
+
+    @Benchmark
+    public Move createMove() {
+        return MoveFactory.createMove(this.builder.build(), this.currentCoordinate, this.destinationCoordinate);
+    }
+
+    @Benchmark
+    public Move createPackedMove() {
+        return MoveFactory.createMove(this.builder.build(), this.packedMove);
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        return this.builder.build().currentPlayer().isInCheckmate();
+    }
+
+    @Benchmark
+    public GameStatus gameStatus() {
+        return this.builder.build().getGameStatus();
+    }
+}
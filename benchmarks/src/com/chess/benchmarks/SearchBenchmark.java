@@ -0,0 +1,62 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A fixed-depth search per position, the work done for every position a user submits. The
+ * strategy keeps its transposition table between calls, so the benchmark owns the table and
+ * empties it before every call; each call then repeats the same cold search and, with one
+ * thread, the time per call tracks nodes/second directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SearchBenchmark {
+
+    @Param({"STANDARD", "MIDDLEGAME", "ENDGAME"})
+    public BenchmarkPositions position;
+
+    @Param({"4"})
+    public int depth;
+
+    // Lazy SMP threads; run with -p threads=1,2,4,... to see how nodes/second scales
+    @Param({"1"})
+    public int threads;
+
+    private Board board;
+    private TranspositionTable table;
+    private IterativeDeepening strategy;
+
+    @Setup
+    public void setUp() {
+        this.board = this.position.createBoard();
+        this.table = new TranspositionTable(IterativeDeepening.DEFAULT_TABLE_MEGABYTES);
+        this.strategy = new IterativeDeepening(new StandardBoardEvaluator(), this.depth,
+                IterativeDeepening.NO_TIME_LIMIT, this.table, this.threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        this.table.clear();
+    }
+
+    @Benchmark
+    public Move search() {
+        return this.strategy.execute(this.board);
+    }
+}
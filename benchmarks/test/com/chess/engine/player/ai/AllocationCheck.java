@@ -0,0 +1,105 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.MoveBuffers;
+import com.chess.engine.board.MutableBoard;
+
+import java.lang.management.ManagementFactory;
+
+/*
+ * Checks that the hot paths do not allocate: a perft walk of generate + make/unmake over a
+ * MutableBoard, and an AlphaBetaSearch.deepen run with quiescence and the transposition table.
+ * Everything each run needs is built first, the code is warmed up so the JIT has compiled it,
+ * and then the bytes the thread allocates during a second run must be zero.
+ *
+ *   java com.chess.engine.player.ai.AllocationCheck
+ *
+ * Lives in the benchmarks module's test root, so it never ships with the engine; it shares the
+ * search package to reach AlphaBetaSearch. Runs headless and exits with status 1 if either run
+ * allocates.
+ */
+public final class AllocationCheck {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    private static final int PERFT_DEPTH = 4;
+    private static final int SEARCH_DEPTH = 5;
+    private static final int WARM_UP_RUNS = 3;
+
+    private AllocationCheck() {
+        throw new RuntimeException("Cannot instantiate AllocationCheck!");
+    }
+
+    public static void main(final String[] args) {
+        final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean) ||
+            !((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            System.out.println("This JVM cannot count allocated bytes per thread");
+            System.exit(1);
+        }
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        final Board board = FenUtilities.createBoardFromFEN(KIWIPETE);
+
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            walk(new MutableBoard(board), PERFT_DEPTH, new MoveBuffers());
+            search(board);
+        }
+
+        final MutableBoard walkBoard = new MutableBoard(board);
+        final MoveBuffers buffers = new MoveBuffers();
+        long before = allocatedBytes(allocations);
+        final long walkNodes = walk(walkBoard, PERFT_DEPTH, buffers);
+        final long walkBytes = allocatedBytes(allocations) - before;
+
+        final AlphaBetaSearch search = newSearch(board);
+        final int[] rootMoves = board.currentPlayer().getPackedLegalMoves();
+        before = allocatedBytes(allocations);
+        search.deepen(rootMoves, 1, SEARCH_DEPTH);
+        final long searchBytes = allocatedBytes(allocations) - before;
+
+        final boolean valid = report("generate + make/unmake", walkNodes, walkBytes) &
+                              report("AlphaBetaSearch.deepen", search.getNodes(), searchBytes);
+        if (!valid) {
+            System.exit(1);
+        }
+    }
+
+    private static long walk(final MutableBoard board,
+                             final int depth,
+                             final MoveBuffers buffers) {
+        if (depth == 0) {
+            return 1;
+        }
+        final int[] moves = buffers.forPly(board.getPly());
+        final int count = board.generateMoves(moves);
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            nodes += walk(board, depth - 1, buffers);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private static void search(final Board board) {
+        newSearch(board).deepen(board.currentPlayer().getPackedLegalMoves(), 1, SEARCH_DEPTH);
+    }
+
+    private static AlphaBetaSearch newSearch(final Board board) {
+        return new AlphaBetaSearch(board, new StandardBoardEvaluator(),
+                new TranspositionTable(IterativeDeepening.DEFAULT_TABLE_MEGABYTES), Long.MAX_VALUE);
+    }
+
+    private static long allocatedBytes(final com.sun.management.ThreadMXBean allocations) {
+        return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static boolean report(final String name,
+                                  final long nodes,
+                                  final long bytes) {
+        System.out.println(name + ": " + nodes + " nodes, " + bytes + " bytes allocated" +
+                           (bytes == 0 ? "" : " - should be 0!"));
+        return bytes == 0;
+    }
+}
@@ -21,6 +21,11 @@ public enum Alliance {
             return false;
         }
 
+        @Override
+        public Alliance opposite() {
+            return BLACK;
+        }
+
         @Override
         public Player choosePlayer(final WhitePlayer whitePlayer,
                                    final BlackPlayer blackPlayer) {
@@ -43,6 +48,11 @@ public enum Alliance {
             return true;
         }
 
+        @Override
+        public Alliance opposite() {
+            return WHITE;
+        }
+
         @Override
         public Player choosePlayer(final WhitePlayer whitePlayer,
                                    final BlackPlayer blackPlayer) {
@@ -53,6 +63,7 @@ public enum Alliance {
     public abstract int getDirection();
     public abstract boolean isWhite();
     public abstract boolean isBlack();
+    public abstract Alliance opposite();
 
     public abstract Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer);
 }
@@ -0,0 +1,60 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * One alliance's pieces as a read-only view over the board's piece layout and that alliance's
+ * bitboard. Nothing is copied when a board is built, so a child board's piece lists cost
+ * nothing beyond the bitboard update its move already makes.
+ */
+final class ActivePieces extends AbstractCollection<Piece> {
+
+    private final PieceLayout pieceLayout;
+    private final long allianceBitBoard;
+
+    ActivePieces(final PieceLayout pieceLayout,
+                 final long allianceBitBoard) {
+        this.pieceLayout = pieceLayout;
+        this.allianceBitBoard = allianceBitBoard;
+    }
+
+    @Override
+    public Iterator<Piece> iterator() {
+        return new Iterator<Piece>() {
+            private long remaining = ActivePieces.this.allianceBitBoard;
+
+            @Override
+            public boolean hasNext() {
+                return this.remaining != 0;
+            }
+
+            @Override
+            public Piece next() {
+                if (this.remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                final int tileCoordinate = Long.numberOfTrailingZeros(this.remaining);
+                this.remaining &= this.remaining - 1;
+                return ActivePieces.this.pieceLayout.getPiece(tileCoordinate);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(this.allianceBitBoard);
+    }
+
+    @Override
+    public boolean contains(final Object other) {
+        if (!(other instanceof Piece)) {
+            return false;
+        }
+        final int tileCoordinate = ((Piece) other).getPiecePosition();
+        return BitBoards.isSet(this.allianceBitBoard, tileCoordinate) && this.pieceLayout.getPiece(tileCoordinate) == other;
+    }
+}
@@ -0,0 +1,189 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/*
+ * Bit i of every bitboard is tile coordinate i, so bit 0 is a8 and bit 63 is h1
+ * (same numbering as Board and BoardUtils). "North" is towards Black's side,
+ * which means a smaller coordinate.
+ */
+public final class BitBoards {
+
+    public static final long EMPTY = 0L;
+    public static final long ALL_TILES = ~0L;
+
+    public static final long FIRST_FILE = 0x0101010101010101L;
+    public static final long SECOND_FILE = FIRST_FILE << 1;
+    public static final long SEVENTH_FILE = FIRST_FILE << 6;
+    public static final long EIGHTH_FILE = FIRST_FILE << 7;
+
+    public static final long EIGHTH_RANK = 0xFFL;
+    public static final long SEVENTH_RANK = EIGHTH_RANK << 8;
+    public static final long SECOND_RANK = EIGHTH_RANK << 48;
+    public static final long FIRST_RANK = EIGHTH_RANK << 56;
+
+    // Leaper attack sets for every tile, built once so move generation is a lookup plus a mask
+    private static final long[] KNIGHT_ATTACKS = initKnightAttacks();
+    private static final long[] KING_ATTACKS = initKingAttacks();
+    private static final long[][] PAWN_ATTACKS = initPawnAttacks();
+
+    // Tiles strictly between two tiles, and the whole line through them, or EMPTY if they share no line
+    private static final long[][] BETWEEN = initBetween();
+    private static final long[][] LINES = initLines();
+
+    public static final int NUM_PIECE_TYPES = PieceType.values().length;
+    public static final int NUM_PIECE_BITBOARDS = NUM_PIECE_TYPES * Alliance.values().length;
+
+    private BitBoards() {
+        throw new RuntimeException("Cannot instantiate BitBoards!");
+    }
+
+    public static int pieceIndex(final Alliance alliance, final PieceType pieceType) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    public static long tileMask(final int tileCoordinate) {
+        return 1L << tileCoordinate;
+    }
+
+    public static boolean isSet(final long bitBoard, final int tileCoordinate) {
+        return (bitBoard & (1L << tileCoordinate)) != 0;
+    }
+
+    public static int firstTile(final long bitBoard) {
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+
+    public static long north(final long bitBoard) {
+        return bitBoard >>> 8;
+    }
+
+    public static long south(final long bitBoard) {
+        return bitBoard << 8;
+    }
+
+    public static long east(final long bitBoard) {
+        return (bitBoard & ~EIGHTH_FILE) << 1;
+    }
+
+    public static long west(final long bitBoard) {
+        return (bitBoard & ~FIRST_FILE) >>> 1;
+    }
+
+    public static long northEast(final long bitBoard) {
+        return (bitBoard & ~EIGHTH_FILE) >>> 7;
+    }
+
+    public static long northWest(final long bitBoard) {
+        return (bitBoard & ~FIRST_FILE) >>> 9;
+    }
+
+    public static long southEast(final long bitBoard) {
+        return (bitBoard & ~EIGHTH_FILE) << 9;
+    }
+
+    public static long southWest(final long bitBoard) {
+        return (bitBoard & ~FIRST_FILE) << 7;
+    }
+
+    public static long forward(final long bitBoard, final Alliance alliance) {
+        return alliance.isWhite() ? north(bitBoard) : south(bitBoard);
+    }
+
+    public static long knightAttacks(final int tileCoordinate) {
+        return KNIGHT_ATTACKS[tileCoordinate];
+    }
+
+    public static long kingAttacks(final int tileCoordinate) {
+        return KING_ATTACKS[tileCoordinate];
+    }
+
+    public static long pawnAttacks(final Alliance alliance, final int tileCoordinate) {
+        return PAWN_ATTACKS[alliance.ordinal()][tileCoordinate];
+    }
+
+    public static long between(final int from, final int to) {
+        return BETWEEN[from][to];
+    }
+
+    public static long line(final int from, final int to) {
+        return LINES[from][to];
+    }
+
+    public static long rookAttacks(final int tileCoordinate, final long occupied) {
+        return MagicBitBoards.rookAttacks(tileCoordinate, occupied);
+    }
+
+    public static long bishopAttacks(final int tileCoordinate, final long occupied) {
+        return MagicBitBoards.bishopAttacks(tileCoordinate, occupied);
+    }
+
+    public static long queenAttacks(final int tileCoordinate, final long occupied) {
+        return rookAttacks(tileCoordinate, occupied) | bishopAttacks(tileCoordinate, occupied);
+    }
+
+    private static long[] initKnightAttacks() {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final long knight = tileMask(i);
+            final long sideways = east(knight) | west(knight);
+            final long twoSideways = east(east(knight)) | west(west(knight));
+            attacks[i] = north(north(sideways)) | south(south(sideways)) |
+                         north(twoSideways) | south(twoSideways);
+        }
+        return attacks;
+    }
+
+    private static long[] initKingAttacks() {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final long king = tileMask(i);
+            final long sideways = east(king) | west(king);
+            final long row = king | sideways;
+            attacks[i] = sideways | north(row) | south(row);
+        }
+        return attacks;
+    }
+
+    private static long[][] initPawnAttacks() {
+        final long[][] attacks = new long[Alliance.values().length][BoardUtils.NUM_TILES];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final long pawn = tileMask(i);
+            attacks[Alliance.WHITE.ordinal()][i] = northEast(pawn) | northWest(pawn);
+            attacks[Alliance.BLACK.ordinal()][i] = southEast(pawn) | southWest(pawn);
+        }
+        return attacks;
+    }
+
+    private static long[][] initBetween() {
+        final long[][] between = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+        for (int from = 0; from < BoardUtils.NUM_TILES; from++) {
+            for (int to = 0; to < BoardUtils.NUM_TILES; to++) {
+                for (final boolean isRook : new boolean[] {true, false}) {
+                    if (isSet(MagicBitBoards.slidingAttacks(isRook, from, EMPTY), to)) {
+                        between[from][to] = MagicBitBoards.slidingAttacks(isRook, from, tileMask(to)) &
+                                            MagicBitBoards.slidingAttacks(isRook, to, tileMask(from));
+                    }
+                }
+            }
+        }
+        return between;
+    }
+
+    private static long[][] initLines() {
+        final long[][] lines = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+        for (int from = 0; from < BoardUtils.NUM_TILES; from++) {
+            for (int to = 0; to < BoardUtils.NUM_TILES; to++) {
+                for (final boolean isRook : new boolean[] {true, false}) {
+                    if (isSet(MagicBitBoards.slidingAttacks(isRook, from, EMPTY), to)) {
+                        lines[from][to] = (MagicBitBoards.slidingAttacks(isRook, from, EMPTY) &
+                                           MagicBitBoards.slidingAttacks(isRook, to, EMPTY)) |
+                                          tileMask(from) | tileMask(to);
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+}
@@ -3,34 +3,54 @@ package com.chess.engine.board;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.*;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
 import java.util.*;
 
-public class Board {
+public class Board implements Position {
 
-     private final List<Tile> gameBoard;
+     private final PieceLayout pieceLayout;
      private final Collection<Piece> whitePieces;
      private final Collection<Piece> blackPieces;
+     private final Pawn enPassantPawn;
+     private final Alliance moveMaker;
+     private final int castlingRights;
+     private final int enPassantTile;
+     private final long zobristKey;
+
+     private final long whitePieceBitBoard;
+     private final long blackPieceBitBoard;
+     private final long occupiedBitBoard;
+
+     // Worked out lazily and published through a volatile write, like Player's lazy members
+     private volatile GameStatus gameStatus;
 
      private final WhitePlayer whitePlayer;
      private final BlackPlayer blackPlayer;
      private final Player currentPlayer;
 
      private Board(final Builder builder) {
-          this.gameBoard = createGameBoard(builder);
-          this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
-          this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
-          
-          final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-          final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
-
-          this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-          this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+          // shares every rank and bitboard chunk the builder did not write to with the parent board
+          this.pieceLayout = builder.pieceLayout.build();
+          this.whitePieceBitBoard = this.pieceLayout.getAllianceBitBoard(Alliance.WHITE);
+          this.blackPieceBitBoard = this.pieceLayout.getAllianceBitBoard(Alliance.BLACK);
+          this.occupiedBitBoard = this.whitePieceBitBoard | this.blackPieceBitBoard;
+          this.enPassantPawn = builder.enPassantPawn;
+          this.moveMaker = builder.nextMoveMaker;
+          this.castlingRights = calculateCastlingRights(this.pieceLayout);
+          this.enPassantTile = this.enPassantPawn == null ? NO_TILE : this.enPassantPawn.getPiecePosition() -
+                  BoardUtils.NUM_TILES_PER_ROW * this.enPassantPawn.getPieceAlliance().getDirection();
+          // boards reached by a move carry the key Move derived from their parent
+          this.zobristKey = builder.zobristKey != null ? builder.zobristKey : Zobrist.calculateKey(this);
+          this.whitePieces = new ActivePieces(this.pieceLayout, this.whitePieceBitBoard);
+          this.blackPieces = new ActivePieces(this.pieceLayout, this.blackPieceBitBoard);
+          // players work out their moves, check and castles lazily, so building a board stays cheap
+          this.whitePlayer = new WhitePlayer(this);
+          this.blackPlayer = new BlackPlayer(this);
           this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
      }
 
@@ -38,7 +58,7 @@ public class Board {
      public String toString() {
           final StringBuilder builder = new StringBuilder();
           for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-               final String tileText = this.gameBoard.get(i).toString();
+               final String tileText = getTile(i).toString();
                builder.append(String.format("%3s", tileText));
                if ((i+1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
                     builder.append("\n");
@@ -48,6 +68,27 @@ public class Board {
           return builder.toString();
      }
 
+     @Override
+     public int hashCode() {
+          return Long.hashCode(this.zobristKey);
+     }
+
+     @Override
+     public boolean equals(final Object other) {
+          if (this == other) {
+               return true;
+          }
+          if (!(other instanceof Board)) {
+               return false;
+          }
+          final Board otherBoard = (Board) other;
+          return this.zobristKey == otherBoard.zobristKey &&
+                 this.moveMaker == otherBoard.moveMaker &&
+                 this.castlingRights == otherBoard.castlingRights &&
+                 this.enPassantTile == otherBoard.enPassantTile &&
+                 this.pieceLayout.hasSameBitBoards(otherBoard.pieceLayout);
+     }
+
      public Player whitePlayer() {
           return this.whitePlayer;
      }
@@ -60,6 +101,24 @@ public class Board {
           return this.currentPlayer;
      }
 
+     // Check, mate or stalemate for the side to move, worked out once per board
+     public GameStatus getGameStatus() {
+          GameStatus status = this.gameStatus;
+          if (status == null) {
+               status = calculateGameStatus();
+               this.gameStatus = status;
+          }
+          return status;
+     }
+
+     private GameStatus calculateGameStatus() {
+          final boolean isInCheck = this.currentPlayer.isInCheck();
+          if (this.currentPlayer.hasEscapeMoves()) {
+               return isInCheck ? GameStatus.CHECK : GameStatus.IN_PROGRESS;
+          }
+          return isInCheck ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+     }
+
      public Collection<Piece> getBlackPieces() {
           return this.blackPieces;
      }
@@ -68,81 +127,117 @@ public class Board {
           return this.whitePieces;
      }
 
-     private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
+     public Pawn getEnPassantPawn() {
+          return this.enPassantPawn;
+     }
+
+     @Override
+     public Alliance getMoveMaker() {
+          return this.moveMaker;
+     }
 
-          final List<Move> legalMoves = new ArrayList<>();
+     @Override
+     public int getCastlingRights() {
+          return this.castlingRights;
+     }
 
-          for (final Piece piece : pieces) {
-               legalMoves.addAll(piece.calculateLegalMoves(this));
-          }
+     @Override
+     public int getEnPassantTile() {
+          return this.enPassantTile;
+     }
 
-          return ImmutableList.copyOf(legalMoves);
+     @Override
+     public long getZobristKey() {
+          return this.zobristKey;
      }
 
-     private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard,
-                                                          final Alliance alliance) {
-          final List<Piece> activePieces = new ArrayList<>();
+     @Override
+     public long getPieceBitBoard(final Alliance alliance,
+                                  final PieceType pieceType) {
+          return this.pieceLayout.getPieceBitBoard(alliance, pieceType);
+     }
 
-          for (final Tile tile : gameBoard) {
-               if (tile.isOccupied()) {
-                    final Piece piece = tile.getPiece();
-                    if (piece.getPieceAlliance() == alliance) {
-                         activePieces.add(piece);
-                    }
-               }
-          }
+     @Override
+     public long getAllianceBitBoard(final Alliance alliance) {
+          return alliance.isWhite() ? this.whitePieceBitBoard : this.blackPieceBitBoard;
+     }
 
-          return ImmutableList.copyOf(activePieces);
+     @Override
+     public long getOccupiedBitBoard() {
+          return this.occupiedBitBoard;
+     }
+
+     @Override
+     public int getPieceIndex(final int tileCoordinate) {
+          final Piece piece = this.pieceLayout.getPiece(tileCoordinate);
+          return piece == null ? NO_PIECE : BitBoards.pieceIndex(piece.getPieceAlliance(), piece.getPieceType());
      }
 
+     // Tiles are cached per piece and coordinate, so this never allocates
      public Tile getTile(final int tileCoordinate) {
-          return gameBoard.get(tileCoordinate);
+          return Tile.createTile(tileCoordinate, this.pieceLayout.getPiece(tileCoordinate));
      }
 
-     private static List<Tile> createGameBoard(final Builder builder) {
-          final Tile[] tile = new Tile[BoardUtils.NUM_TILES];
-          for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-               tile[i] = Tile.createTile(i, builder.boardConfig.get(i));
-          }
-          return ImmutableList.copyOf(tile);
+     // The piece on the tile, or null
+     public Piece getPiece(final int tileCoordinate) {
+          return this.pieceLayout.getPiece(tileCoordinate);
+     }
+
+     private static int calculateCastlingRights(final PieceLayout pieceLayout) {
+          int castlingRights = 0;
+          if (hasCastlingPieces(pieceLayout, 60, 63)) castlingRights |= WHITE_KINGSIDE;
+          if (hasCastlingPieces(pieceLayout, 60, 56)) castlingRights |= WHITE_QUEENSIDE;
+          if (hasCastlingPieces(pieceLayout, 4, 7)) castlingRights |= BLACK_KINGSIDE;
+          if (hasCastlingPieces(pieceLayout, 4, 0)) castlingRights |= BLACK_QUEENSIDE;
+          return castlingRights;
+     }
+
+     private static boolean hasCastlingPieces(final PieceLayout pieceLayout,
+                                              final int kingTile,
+                                              final int rookTile) {
+          final Piece king = pieceLayout.getPiece(kingTile);
+          final Piece rook = pieceLayout.getPiece(rookTile);
+          return king != null && king.getPieceType().isKing() && king.isFirstMove() &&
+                 rook != null && rook.getPieceType().isRook() && rook.isFirstMove() &&
+                 rook.getPieceAlliance() == king.getPieceAlliance();
      }
 
      public static Board createStandardBoard() {
           final Builder builder = new Builder();
           // Black's layout
-          builder.setPiece(new Rook(0, Alliance.BLACK));
-          builder.setPiece(new Knight(1, Alliance.BLACK));
-          builder.setPiece(new Bishop(2, Alliance.BLACK));
-          builder.setPiece(new Queen(3, Alliance.BLACK));
-          builder.setPiece(new King(4, Alliance.BLACK));
-          builder.setPiece(new Bishop(5, Alliance.BLACK));
-          builder.setPiece(new Knight(6, Alliance.BLACK));
-          builder.setPiece(new Rook(7, Alliance.BLACK));
-          builder.setPiece(new Pawn(8, Alliance.BLACK));
-          builder.setPiece(new Pawn(9, Alliance.BLACK));
-          builder.setPiece(new Pawn(10, Alliance.BLACK));
-          builder.setPiece(new Pawn(11, Alliance.BLACK));
-          builder.setPiece(new Pawn(12, Alliance.BLACK));
-          builder.setPiece(new Pawn(13, Alliance.BLACK));
-          builder.setPiece(new Pawn(14, Alliance.BLACK));
-          builder.setPiece(new Pawn(15, Alliance.BLACK));
+          builder.setPiece(Piece.createPiece(PieceType.ROOK, Alliance.BLACK, 0, true));
+          builder.setPiece(Piece.createPiece(PieceType.KNIGHT, Alliance.BLACK, 1, true));
+          builder.setPiece(Piece.createPiece(PieceType.BISHOP, Alliance.BLACK, 2, true));
+          builder.setPiece(Piece.createPiece(PieceType.QUEEN, Alliance.BLACK, 3, true));
+          builder.setPiece(Piece.createPiece(PieceType.KING, Alliance.BLACK, 4, true));
+          builder.setPiece(Piece.createPiece(PieceType.BISHOP, Alliance.BLACK, 5, true));
+          builder.setPiece(Piece.createPiece(PieceType.KNIGHT, Alliance.BLACK, 6, true));
+          builder.setPiece(Piece.createPiece(PieceType.ROOK, Alliance.BLACK, 7, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.BLACK, 8, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.BLACK, 9, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.BLACK, 10, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.BLACK, 11, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.BLACK, 12, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.BLACK, 13, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.BLACK, 14, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.BLACK, 15, true));
           // White's layout
-          builder.setPiece(new Pawn(48, Alliance.WHITE));
-          builder.setPiece(new Pawn(49, Alliance.WHITE));
-          builder.setPiece(new Pawn(50, Alliance.WHITE));
-          builder.setPiece(new Pawn(51, Alliance.WHITE));
-          builder.setPiece(new Pawn(52, Alliance.WHITE));
-          builder.setPiece(new Pawn(53, Alliance.WHITE));
-          builder.setPiece(new Pawn(54, Alliance.WHITE));
-          builder.setPiece(new Pawn(55, Alliance.WHITE));
-          builder.setPiece(new Rook(56, Alliance.WHITE));
-          builder.setPiece(new Knight(57, Alliance.WHITE));
-          builder.setPiece(new Bishop(58, Alliance.WHITE));
-          builder.setPiece(new Queen(59, Alliance.WHITE));
-          builder.setPiece(new King(60, Alliance.WHITE));
-          builder.setPiece(new Bishop(61, Alliance.WHITE));
-          builder.setPiece(new Knight(62, Alliance.WHITE));
-          builder.setPiece(new Rook(63, Alliance.WHITE));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.WHITE, 48, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.WHITE, 49, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.WHITE, 50, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.WHITE, 51, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.WHITE, 52, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.WHITE, 53, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.WHITE, 54, true));
+          builder.setPiece(Piece.createPiece(PieceType.PAWN, Alliance.WHITE, 55, true));
+          builder.setPiece(Piece.createPiece(PieceType.ROOK, Alliance.WHITE, 56, true));
+          builder.setPiece(Piece.createPiece(PieceType.KNIGHT, Alliance.WHITE, 57, true));
+          builder.setPiece(Piece.createPiece(PieceType.BISHOP, Alliance.WHITE, 58, true));
+          builder.setPiece(Piece.createPiece(PieceType.QUEEN, Alliance.WHITE, 59, true));
+          builder.setPiece(Piece.createPiece(PieceType.KING, Alliance.WHITE, 60, true));
+          builder.setPiece(Piece.createPiece(PieceType.BISHOP, Alliance.WHITE, 61, true));
+          builder.setPiece(Piece.createPiece(PieceType.KNIGHT, Alliance.WHITE, 62, true));
+          builder.setPiece(Piece.createPiece(PieceType.ROOK, Alliance.WHITE, 63, true));
           // White to move
           builder.setMoveMaker(Alliance.WHITE);
 
@@ -154,16 +249,28 @@ public class Board {
      }
 
      public static class Builder {
-          Map<Integer, Piece> boardConfig;
+          PieceLayout.Editor pieceLayout;
           Alliance nextMoveMaker;
           Pawn enPassantPawn;
+          Long zobristKey;
 
           public Builder() {
-               this.boardConfig = new HashMap<>();
+               this.pieceLayout = new PieceLayout.Editor();
+          }
+
+          // Starts from the board's pieces, so a move only has to change the tiles it touches
+          public Builder(final Board board) {
+               this.pieceLayout = new PieceLayout.Editor(board.pieceLayout);
           }
 
+          // Replaces whatever stands on the piece's tile
           public Builder setPiece(final Piece piece) {
-               this.boardConfig.put(piece.getPiecePosition(), piece);
+               this.pieceLayout.setPiece(piece.getPiecePosition(), piece);
+               return this;
+          }
+
+          public Builder clearTile(final int tileCoordinate) {
+               this.pieceLayout.clearTile(tileCoordinate);
                return this;
           }
 
@@ -172,6 +279,11 @@ public class Board {
                return this;
           }
 
+          public Builder setZobristKey(final long zobristKey) {
+               this.zobristKey = zobristKey;
+               return this;
+          }
+
           public Board build() {
                return new Board(this);
           }
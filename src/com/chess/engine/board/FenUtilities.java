@@ -0,0 +1,120 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/*
+ * Reads and writes Forsyth-Edwards Notation. Only the first four fields (placement, side to
+ * move, castling rights, en passant tile) matter to Board; the move clocks are accepted and
+ * written back as "0 1".
+ */
+public final class FenUtilities {
+
+    private FenUtilities() {
+        throw new RuntimeException("Cannot instantiate FenUtilities!");
+    }
+
+    public static Board createBoardFromFEN(final String fenString) {
+        final String[] fields = fenString.trim().split("\\s+");
+        if (fields.length < 4) {
+            throw new RuntimeException("Invalid FEN string: " + fenString);
+        }
+        final String castlingRights = fields[2];
+        final Board.Builder builder = new Board.Builder();
+        int tileCoordinate = 0;
+        for (final char c : fields[0].toCharArray()) {
+            if (c == '/') {
+                continue;
+            }
+            if (Character.isDigit(c)) {
+                tileCoordinate += c - '0';
+                continue;
+            }
+            final Alliance alliance = Character.isUpperCase(c) ? Alliance.WHITE : Alliance.BLACK;
+            final PieceType pieceType = toPieceType(c);
+            builder.setPiece(Piece.createPiece(pieceType, alliance, tileCoordinate,
+                    isFirstMove(pieceType, alliance, tileCoordinate, castlingRights)));
+            tileCoordinate++;
+        }
+        if (tileCoordinate != BoardUtils.NUM_TILES) {
+            throw new RuntimeException("Invalid FEN piece placement: " + fields[0]);
+        }
+        final Alliance moveMaker = fields[1].equals("w") ? Alliance.WHITE : Alliance.BLACK;
+        builder.setMoveMaker(moveMaker);
+        if (!fields[3].equals("-")) {
+            final int pawnTile = BoardUtils.getCoordinateAtPosition(fields[3]) +
+                    BoardUtils.NUM_TILES_PER_ROW * moveMaker.opposite().getDirection();
+            builder.setEnPassantPawn((Pawn) Piece.createPiece(PieceType.PAWN, moveMaker.opposite(), pawnTile, false));
+        }
+        return builder.build();
+    }
+
+    public static String createFENFromBoard(final Board board) {
+        final StringBuilder fen = new StringBuilder();
+        int emptyTiles = 0;
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final Piece piece = board.getPiece(i);
+            if (piece == null) {
+                emptyTiles++;
+            } else {
+                if (emptyTiles != 0) {
+                    fen.append(emptyTiles);
+                    emptyTiles = 0;
+                }
+                final String name = piece.getPieceType().toString();
+                fen.append(piece.getPieceAlliance().isWhite() ? name : name.toLowerCase());
+            }
+            if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+                if (emptyTiles != 0) {
+                    fen.append(emptyTiles);
+                    emptyTiles = 0;
+                }
+                if (i + 1 != BoardUtils.NUM_TILES) {
+                    fen.append('/');
+                }
+            }
+        }
+        fen.append(board.getMoveMaker().isWhite() ? " w " : " b ");
+        final int castlingRights = board.getCastlingRights();
+        final String castles = ((castlingRights & Position.WHITE_KINGSIDE) != 0 ? "K" : "") +
+                               ((castlingRights & Position.WHITE_QUEENSIDE) != 0 ? "Q" : "") +
+                               ((castlingRights & Position.BLACK_KINGSIDE) != 0 ? "k" : "") +
+                               ((castlingRights & Position.BLACK_QUEENSIDE) != 0 ? "q" : "");
+        fen.append(castles.isEmpty() ? "-" : castles);
+        final int enPassantTile = board.getEnPassantTile();
+        fen.append(' ').append(enPassantTile == Position.NO_TILE ? "-" : BoardUtils.getPositionAtCoordinate(enPassantTile));
+        return fen.append(" 0 1").toString();
+    }
+
+    private static PieceType toPieceType(final char c) {
+        for (final PieceType pieceType : PieceType.values()) {
+            if (pieceType.toString().charAt(0) == Character.toUpperCase(c)) {
+                return pieceType;
+            }
+        }
+        throw new RuntimeException("Invalid FEN piece: " + c);
+    }
+
+    // Board derives castling rights from untouched kings and rooks, so the flags carry them in
+    private static boolean isFirstMove(final PieceType pieceType,
+                                       final Alliance alliance,
+                                       final int tileCoordinate,
+                                       final String castlingRights) {
+        switch (pieceType) {
+            case PAWN:
+                return tileCoordinate / BoardUtils.NUM_TILES_PER_ROW == (alliance.isWhite() ? 6 : 1);
+            case KING:
+                return alliance.isWhite() ?
+                        tileCoordinate == MoveGenerator.WHITE_KING_TILE && castlingRights.matches(".*[KQ].*") :
+                        tileCoordinate == MoveGenerator.BLACK_KING_TILE && castlingRights.matches(".*[kq].*");
+            case ROOK:
+                return alliance.isWhite() ?
+                        tileCoordinate == 63 && castlingRights.contains("K") || tileCoordinate == 56 && castlingRights.contains("Q") :
+                        tileCoordinate == 7 && castlingRights.contains("k") || tileCoordinate == 0 && castlingRights.contains("q");
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.chess.engine.board;
+
+import static com.chess.engine.board.BitBoards.*;
+
+/*
+ * Magic bitboard attack tables for the sliding pieces. For each tile the relevant blockers
+ * (the tile's rays without the board edge) are multiplied by a magic number so that every
+ * blocker subset hashes, without harmful collisions, to its own slot of a shared attack table.
+ * A slider lookup is then one multiply, one shift and one indexed load.
+ *
+ * The magic numbers below were produced by MagicGenerator, which can also re-verify them.
+ */
+public final class MagicBitBoards {
+
+    static final long[] ROOK_MAGICS = {
+            0x0080004000802018L, 0x5040004010002000L, 0x0100200010084102L, 0x3100081000050020L,
+            0x0700050008001082L, 0x2480140002008031L, 0x0400281209008410L, 0xA10004820149A100L,
+            0x0000800020804010L, 0x0000804000802000L, 0x0001001100402000L, 0x0860800800100080L,
+            0x8021000800050010L, 0x8641808052000400L, 0xB121000402000100L, 0x0401001040810012L,
+            0x0080004000200040L, 0x0001050028400082L, 0x4880410020061100L, 0x040221001001000AL,
+            0x0004008004080081L, 0x100A010100040008L, 0x00044B0100040200L, 0x0050060000804904L,
+            0x0040005880008020L, 0x0040400040201000L, 0x0104410900200010L, 0x4082880280100080L,
+            0x8004040080080080L, 0x1020040080800200L, 0x5000500400420801L, 0x0000004200108401L,
+            0x0080002002400040L, 0x0200401000402000L, 0x3100802000801000L, 0x0060100080800800L,
+            0x0400110065000800L, 0x0808800400800200L, 0x4822020001010004L, 0x0029010042000084L,
+            0x8040002040808000L, 0x400050002000C003L, 0x001100200A410010L, 0x1400100100090020L,
+            0x4441004800050010L, 0x0000042040080110L, 0x400200884702000CL, 0x1000410040820004L,
+            0x000106C122008200L, 0x0800490822008200L, 0x0210110040200100L, 0x5010001008008080L,
+            0x2048008880040180L, 0x2103020080840080L, 0x0180025008018400L, 0x6849000152008700L,
+            0x6200104700228001L, 0x0040190082002042L, 0x800020000A40B103L, 0x0010100100080421L,
+            0x0002010420100802L, 0x0005004204004801L, 0x60010004020010A1L, 0x0000084028850402L
+    };
+
+    static final long[] BISHOP_MAGICS = {
+            0x8040040104010012L, 0x6008101082104800L, 0x0210208081040240L, 0x808405021020C444L,
+            0x040C052000090100L, 0x5501100211080848L, 0x0840808C21600200L, 0x020984004E322000L,
+            0x008122045004A100L, 0x8050101002A58490L, 0x0000842904051000L, 0x0001020A06012040L,
+            0x0000820210020C00L, 0x0A08022804400200L, 0x0000040401041018L, 0x800100804130100AL,
+            0xAA0920A088014804L, 0xA1200002040410A0L, 0x02C4000808002008L, 0x000402084010A001L,
+            0x2002000400A24900L, 0x0040401808080420L, 0x180E040108110400L, 0x806D000820880440L,
+            0x0002104008101000L, 0x4C08200002820200L, 0x8808041142002200L, 0x8202080284004008L,
+            0x4211020004008400L, 0x0200404002011002L, 0x08040880A100F000L, 0x0009110000288808L,
+            0x81926020200428A0L, 0x0309245048023004L, 0x000242C811100960L, 0x0401420080880080L,
+            0x1010020080033005L, 0x0410010108021000L, 0x1004008C02020100L, 0x00040C0080104042L,
+            0x0D08088210480800L, 0x8401040104082100L, 0x9092220022005014L, 0x9004124012019040L,
+            0x8002041092008402L, 0x0060201200200210L, 0x0420020400411114L, 0x010C080220C42220L,
+            0x0042110442408045L, 0x0009040182830220L, 0x0008804044100080L, 0x5220000420880404L,
+            0x0840012004242000L, 0x00008404A8020CA8L, 0x0004200431020008L, 0x9042104112008002L,
+            0x0002008088082310L, 0x0204030082092141L, 0x0A00010100555000L, 0x0000000000841100L,
+            0x0504100020020480L, 0x0010080B22480201L, 0x0010456002023200L, 0x0011090A24004200L
+    };
+
+    static final long[] ROOK_MASKS = initMasks(true);
+    static final long[] BISHOP_MASKS = initMasks(false);
+
+    private static final int[] ROOK_SHIFTS = initShifts(ROOK_MASKS);
+    private static final int[] BISHOP_SHIFTS = initShifts(BISHOP_MASKS);
+
+    private static final int[] ROOK_OFFSETS = initOffsets(ROOK_MASKS);
+    private static final int[] BISHOP_OFFSETS = initOffsets(BISHOP_MASKS);
+
+    private static final long[] ROOK_ATTACKS = initAttacks(true, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS);
+    private static final long[] BISHOP_ATTACKS = initAttacks(false, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+
+    private MagicBitBoards() {
+        throw new RuntimeException("Cannot instantiate MagicBitBoards!");
+    }
+
+    public static long rookAttacks(final int tileCoordinate, final long occupied) {
+        return ROOK_ATTACKS[ROOK_OFFSETS[tileCoordinate] +
+                (int) (((occupied & ROOK_MASKS[tileCoordinate]) * ROOK_MAGICS[tileCoordinate]) >>> ROOK_SHIFTS[tileCoordinate])];
+    }
+
+    public static long bishopAttacks(final int tileCoordinate, final long occupied) {
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[tileCoordinate] +
+                (int) (((occupied & BISHOP_MASKS[tileCoordinate]) * BISHOP_MAGICS[tileCoordinate]) >>> BISHOP_SHIFTS[tileCoordinate])];
+    }
+
+    static int magicIndex(final long blockers,
+                          final long magic,
+                          final int shift) {
+        return (int) ((blockers * magic) >>> shift);
+    }
+
+    // Reference ray walk, only used to fill the tables and by MagicGenerator
+    static long slidingAttacks(final boolean isRook,
+                               final int tileCoordinate,
+                               final long occupied) {
+        final long slider = tileMask(tileCoordinate);
+        long attacks = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            for (long ray = step(isRook, direction, slider); ray != 0; ray = step(isRook, direction, ray)) {
+                attacks |= ray;
+                if ((ray & occupied) != 0) {
+                    break;
+                }
+            }
+        }
+        return attacks;
+    }
+
+    // Every subset of the mask, enumerated with the carry-rippler trick
+    static long[] blockerSubsets(final long mask) {
+        final long[] subsets = new long[1 << Long.bitCount(mask)];
+        long subset = 0;
+        int i = 0;
+        do {
+            subsets[i++] = subset;
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+        return subsets;
+    }
+
+    private static long step(final boolean isRook,
+                             final int direction,
+                             final long bitBoard) {
+        if (isRook) {
+            switch (direction) {
+                case 0: return north(bitBoard);
+                case 1: return south(bitBoard);
+                case 2: return east(bitBoard);
+                default: return west(bitBoard);
+            }
+        }
+        switch (direction) {
+            case 0: return northEast(bitBoard);
+            case 1: return northWest(bitBoard);
+            case 2: return southEast(bitBoard);
+            default: return southWest(bitBoard);
+        }
+    }
+
+    private static long[] initMasks(final boolean isRook) {
+        final long[] masks = new long[BoardUtils.NUM_TILES];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final long slider = tileMask(i);
+            for (int direction = 0; direction < 4; direction++) {
+                // the last tile of a ray never blocks anything, so it is left out of the mask
+                for (long ray = step(isRook, direction, slider);
+                     step(isRook, direction, ray) != 0;
+                     ray = step(isRook, direction, ray)) {
+                    masks[i] |= ray;
+                }
+            }
+        }
+        return masks;
+    }
+
+    private static int[] initShifts(final long[] masks) {
+        final int[] shifts = new int[BoardUtils.NUM_TILES];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            shifts[i] = Long.SIZE - Long.bitCount(masks[i]);
+        }
+        return shifts;
+    }
+
+    private static int[] initOffsets(final long[] masks) {
+        final int[] offsets = new int[BoardUtils.NUM_TILES];
+        int offset = 0;
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            offsets[i] = offset;
+            offset += 1 << Long.bitCount(masks[i]);
+        }
+        return offsets;
+    }
+
+    private static long[] initAttacks(final boolean isRook,
+                                      final long[] masks,
+                                      final long[] magics,
+                                      final int[] shifts,
+                                      final int[] offsets) {
+        final int lastTile = BoardUtils.NUM_TILES - 1;
+        final long[] attacks = new long[offsets[lastTile] + (1 << Long.bitCount(masks[lastTile]))];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            for (final long blockers : blockerSubsets(masks[i])) {
+                attacks[offsets[i] + magicIndex(blockers, magics[i], shifts[i])] = slidingAttacks(isRook, i, blockers);
+            }
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,129 @@
+package com.chess.engine.board;
+
+import java.util.Random;
+
+/*
+ * Finds magic numbers for MagicBitBoards and checks the shipped ones.
+ *
+ *   java com.chess.engine.board.MagicGenerator          prints a fresh set of magics
+ *   java com.chess.engine.board.MagicGenerator verify   checks ROOK_MAGICS/BISHOP_MAGICS
+ */
+public final class MagicGenerator {
+
+    private static final long DEFAULT_SEED = 0x5EEDC0FFEEL;
+    private static final int MAX_ATTEMPTS = 100_000_000;
+
+    private MagicGenerator() {
+        throw new RuntimeException("Cannot instantiate MagicGenerator!");
+    }
+
+    public static void main(final String[] args) {
+        if (args.length > 0 && args[0].equals("verify")) {
+            final boolean valid = verify(true, MagicBitBoards.ROOK_MAGICS) && verify(false, MagicBitBoards.BISHOP_MAGICS);
+            System.out.println(valid ? "Magic numbers verified" : "Magic numbers are broken!");
+            if (!valid) {
+                System.exit(1);
+            }
+            return;
+        }
+        final Random random = new Random(args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_SEED);
+        printMagics("ROOK_MAGICS", generateMagics(true, random));
+        printMagics("BISHOP_MAGICS", generateMagics(false, random));
+    }
+
+    public static long[] generateMagics(final boolean isRook,
+                                        final Random random) {
+        final long[] magics = new long[BoardUtils.NUM_TILES];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            magics[i] = findMagic(isRook, i, random);
+        }
+        return magics;
+    }
+
+    // Checks every blocker subset of every tile against the reference ray walk
+    public static boolean verify(final boolean isRook,
+                                 final long[] magics) {
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final long mask = mask(isRook, i);
+            final long[] subsets = MagicBitBoards.blockerSubsets(mask);
+            final long[] attacks = new long[subsets.length];
+            for (int j = 0; j < subsets.length; j++) {
+                attacks[j] = MagicBitBoards.slidingAttacks(isRook, i, subsets[j]);
+            }
+            if (!isMagic(magics[i], Long.SIZE - Long.bitCount(mask), subsets, attacks)) {
+                return false;
+            }
+            for (int j = 0; j < subsets.length; j++) {
+                // tiles outside the mask must not change the lookup
+                final long occupied = subsets[j] | ~(mask | BitBoards.tileMask(i));
+                final long lookup = isRook ? MagicBitBoards.rookAttacks(i, occupied)
+                                           : MagicBitBoards.bishopAttacks(i, occupied);
+                if (lookup != attacks[j]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long findMagic(final boolean isRook,
+                                  final int tileCoordinate,
+                                  final Random random) {
+        final long mask = mask(isRook, tileCoordinate);
+        final int shift = Long.SIZE - Long.bitCount(mask);
+        final long[] subsets = MagicBitBoards.blockerSubsets(mask);
+        final long[] attacks = new long[subsets.length];
+        for (int i = 0; i < subsets.length; i++) {
+            attacks[i] = MagicBitBoards.slidingAttacks(isRook, tileCoordinate, subsets[i]);
+        }
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            // sparse candidates find magics far faster than uniform random longs
+            final long candidate = random.nextLong() & random.nextLong() & random.nextLong();
+            if (Long.bitCount((mask * candidate) & 0xFF00000000000000L) < 6) {
+                continue;
+            }
+            if (isMagic(candidate, shift, subsets, attacks)) {
+                return candidate;
+            }
+        }
+        throw new RuntimeException("No magic found for tile " + tileCoordinate);
+    }
+
+    // A magic may map two blocker subsets to one slot only if they produce the same attacks
+    private static boolean isMagic(final long magic,
+                                   final int shift,
+                                   final long[] subsets,
+                                   final long[] attacks) {
+        final long[] used = new long[subsets.length];
+        final boolean[] filled = new boolean[subsets.length];
+        for (int i = 0; i < subsets.length; i++) {
+            final int index = MagicBitBoards.magicIndex(subsets[i], magic, shift);
+            if (!filled[index]) {
+                filled[index] = true;
+                used[index] = attacks[i];
+            } else if (used[index] != attacks[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mask(final boolean isRook,
+                             final int tileCoordinate) {
+        return isRook ? MagicBitBoards.ROOK_MASKS[tileCoordinate] : MagicBitBoards.BISHOP_MASKS[tileCoordinate];
+    }
+
+    private static void printMagics(final String name,
+                                    final long[] magics) {
+        System.out.println("    static final long[] " + name + " = {");
+        for (int i = 0; i < magics.length; i += 4) {
+            final String[] row = new String[Math.min(4, magics.length - i)];
+            for (int j = 0; j < row.length; j++) {
+                row[j] = String.format("0x%016XL", magics[i + j]);
+            }
+            System.out.println("            " + String.join(", ", row) + (i + 4 < magics.length ? "," : ""));
+        }
+        System.out.println("    };");
+        System.out.println();
+    }
+}
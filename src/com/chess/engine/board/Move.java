@@ -2,7 +2,11 @@ package com.chess.engine.board;
 
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.pieces.Rook;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
 
 import static com.chess.engine.board.Board.*;
 
@@ -66,6 +70,22 @@ public abstract class Move {
         return this.destinationCoordinate;
     }
 
+    public Board getBoard() {
+        return this.board;
+    }
+
+    public int getPackedMove() {
+        final Piece attackedPiece = getAttackedPiece();
+        return PackedMove.encode(getCurrentCoordinate(), this.destinationCoordinate, getPackedKind(),
+                this.movedPiece.getPieceType().ordinal(),
+                attackedPiece == null ? PackedMove.NO_PIECE_TYPE : attackedPiece.getPieceType().ordinal(),
+                PackedMove.NO_PIECE_TYPE);
+    }
+
+    int getPackedKind() {
+        return PackedMove.NORMAL;
+    }
+
     public Piece getMovedPiece() {
         return this.movedPiece;
     }
@@ -82,25 +102,22 @@ public abstract class Move {
         return null;
     }
 
+    // The child starts as a copy of this board; only the tiles the move touches change
     public Board execute() {
-        final Builder builder = new Builder();
-
-        for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-            if (!this.movedPiece.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
-
-        for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-            builder.setPiece(piece);
-        }
-
+        final Builder builder = new Builder(this.board);
+        builder.clearTile(getCurrentCoordinate());
         builder.setPiece(this.movedPiece.movePiece(this));
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+        builder.setZobristKey(calculateZobristKey());
 
         return builder.build();
     }
 
+    // The parent's key with this move's changes XORed in, rather than a rehash of the new board
+    protected long calculateZobristKey() {
+        return Zobrist.updateKey(this.board.getZobristKey(), this.board, getPackedMove());
+    }
+
     public static final class MajorAttackMove extends AttackMove {
         public MajorAttackMove(final Board board,
                                final Piece pieceMoved,
@@ -176,6 +193,11 @@ public abstract class Move {
             return true;
         }
 
+        @Override
+        public Piece getAttackedPiece() {
+            return this.attackedPiece;
+        }
+
         public Piece getAttackPiece() {
             return this.attackedPiece;
         }
@@ -236,22 +258,18 @@ public abstract class Move {
         }
 
         @Override
-        public Board execute() {
-            final Builder builder = new Builder();
-            for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-                if (!this.movedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-                if (!piece.equals(this.getAttackPiece())) {
-                    builder.setPiece(piece);
-                }
-            }
+        int getPackedKind() {
+            return PackedMove.EN_PASSANT;
+        }
 
+        @Override
+        public Board execute() {
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
+            builder.clearTile(this.getAttackPiece().getPiecePosition());
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(calculateZobristKey());
             return builder.build();
         }
 
@@ -266,22 +284,20 @@ public abstract class Move {
         }
 
         @Override
-        public Board execute() {
+        int getPackedKind() {
+            return PackedMove.PAWN_JUMP;
+        }
 
-            final Builder builder = new Builder();
+        @Override
+        public Board execute() {
 
-            for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-                if (!this.movedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
             final Pawn movedPawn = (Pawn)this.movedPiece.movePiece(this);
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(calculateZobristKey());
 
             return builder.build();
         }
@@ -293,6 +309,74 @@ public abstract class Move {
 
     }
 
+    public static final class PawnPromotion extends Move {
+
+        private final Piece attackedPiece;
+        private final PieceType promotionType;
+
+        public PawnPromotion(final Board board,
+                             final Piece movedPiece,
+                             final int destinationCoordinate,
+                             final Piece attackedPiece,
+                             final PieceType promotionType) {
+            super(board, movedPiece, destinationCoordinate);
+            this.attackedPiece = attackedPiece;
+            this.promotionType = promotionType;
+        }
+
+        public PieceType getPromotionType() {
+            return this.promotionType;
+        }
+
+        @Override
+        public boolean isAttack() {
+            return this.attackedPiece != null;
+        }
+
+        @Override
+        public Piece getAttackedPiece() {
+            return this.attackedPiece;
+        }
+
+        @Override
+        public int getPackedMove() {
+            return PackedMove.encode(getCurrentCoordinate(), this.destinationCoordinate, PackedMove.PROMOTION,
+                    PieceType.PAWN.ordinal(),
+                    this.attackedPiece == null ? PackedMove.NO_PIECE_TYPE : this.attackedPiece.getPieceType().ordinal(),
+                    this.promotionType.ordinal());
+        }
+
+        @Override
+        public Board execute() {
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
+            builder.setPiece(Piece.createPiece(this.promotionType, this.movedPiece.getPieceAlliance(),
+                    this.destinationCoordinate, false));
+            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(calculateZobristKey());
+            return builder.build();
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + this.promotionType.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other || other instanceof PawnPromotion && super.equals(other) &&
+                    this.promotionType == ((PawnPromotion) other).getPromotionType();
+        }
+
+        @Override
+        public String toString() {
+            final String destination = BoardUtils.getPositionAtCoordinate(this.destinationCoordinate);
+            final String move = this.attackedPiece == null ? destination :
+                    BoardUtils.getPositionAtCoordinate(this.movedPiece.getPiecePosition()).substring(0, 1) + "x" + destination;
+            return move + "=" + this.promotionType;
+        }
+    }
+
     static abstract class CastleMove extends Move {
 
         protected Rook castleRook;
@@ -323,20 +407,13 @@ public abstract class Move {
         @Override
         public Board execute() {
 
-            final Builder builder = new Builder();
-
-            for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-                if (!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
+            builder.clearTile(this.castleRookStart);
             builder.setPiece(this.movedPiece.movePiece(this));
-            // TODO first move for rook and other pieces?
-            builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceAlliance()));
+            builder.setPiece(Piece.createPiece(PieceType.ROOK, this.castleRook.getPieceAlliance(), this.castleRookDestination, false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(calculateZobristKey());
             return builder.build();
         }
 
@@ -379,6 +456,11 @@ public abstract class Move {
             return this == other || other instanceof KingsideCastleMove && super.equals(other);
         }
 
+        @Override
+        int getPackedKind() {
+            return PackedMove.KINGSIDE_CASTLE;
+        }
+
         @Override
         public String toString() {
             return "0-0";
@@ -402,6 +484,11 @@ public abstract class Move {
             return this == other || other instanceof QueensideCastleMove && super.equals(other);
         }
 
+        @Override
+        int getPackedKind() {
+            return PackedMove.QUEENSIDE_CASTLE;
+        }
+
         @Override
         public String toString() {
             return "0-0-0";
@@ -424,6 +511,22 @@ public abstract class Move {
         public int getCurrentCoordinate() {
             return -1;
         }
+
+        @Override
+        public int getPackedMove() {
+            return PackedMove.NULL_MOVE;
+        }
+
+        // No moved piece, so the base class's hashCode cannot be used; strategies return this when there is no move
+        @Override
+        public int hashCode() {
+            return PackedMove.NULL_MOVE;
+        }
+
+        @Override
+        public String toString() {
+            return "Null Move";
+        }
     }
 
     public static class MoveFactory {
@@ -431,17 +534,56 @@ public abstract class Move {
             throw new RuntimeException("Not instantiable.");
         }
 
+        // The current player's legal move between the tiles, or NULL_MOVE; promotions resolve to a queen
+        public static Move createMove(final Board board,
+                                      final int currentCoordinate,
+                                      final int destinationCoordinate) {
+            return createMove(board, board.currentPlayer().getLegalMoveIndex().find(currentCoordinate, destinationCoordinate));
+        }
+
+        // Builds the Move object for a packed move generated on this board
         public static Move createMove(final Board board,
-                                     final int currentCoordinate,
-                                     final int destinationCoordinate) {
-
-            for (final Move move : board.getAllLegalMoves()) {
-                if (move.getCurrentCoordinate() == currentCoordinate &&
-                    move.getDestinationCoordinate() == destinationCoordinate) {
-                return move;
-                }
+                                      final int packedMove) {
+            if (packedMove == PackedMove.NULL_MOVE) {
+                return NULL_MOVE;
+            }
+            final int destinationCoordinate = PackedMove.getDestinationCoordinate(packedMove);
+            final Piece movedPiece = board.getPiece(PackedMove.getCurrentCoordinate(packedMove));
+            final Piece attackedPiece = board.getPiece(destinationCoordinate);
+            switch (PackedMove.getKind(packedMove)) {
+                case PackedMove.PAWN_JUMP:
+                    return new PawnJump(board, movedPiece, destinationCoordinate);
+                case PackedMove.EN_PASSANT:
+                    return new PawnEnPassantAttackMove(board, movedPiece, destinationCoordinate, board.getEnPassantPawn());
+                case PackedMove.KINGSIDE_CASTLE:
+                    return new KingsideCastleMove(board, movedPiece, destinationCoordinate,
+                            (Rook) board.getPiece(destinationCoordinate + 1),
+                            destinationCoordinate + 1, destinationCoordinate - 1);
+                case PackedMove.QUEENSIDE_CASTLE:
+                    return new QueensideCastleMove(board, movedPiece, destinationCoordinate,
+                            (Rook) board.getPiece(destinationCoordinate - 2),
+                            destinationCoordinate - 2, destinationCoordinate + 1);
+                case PackedMove.PROMOTION:
+                    return new PawnPromotion(board, movedPiece, destinationCoordinate, attackedPiece,
+                            PackedMove.toPieceType(PackedMove.getPromotionType(packedMove)));
+                default:
+                    if (movedPiece.getPieceType() == PieceType.PAWN) {
+                        return attackedPiece == null ? new PawnMove(board, movedPiece, destinationCoordinate) :
+                                new PawnAttackMove(board, movedPiece, destinationCoordinate, attackedPiece);
+                    }
+                    return attackedPiece == null ? new MajorMove(board, movedPiece, destinationCoordinate) :
+                            new MajorAttackMove(board, movedPiece, destinationCoordinate, attackedPiece);
+            }
+        }
+
+        public static Collection<Move> createMoves(final Board board,
+                                                   final int[] packedMoves,
+                                                   final int count) {
+            final ImmutableList.Builder<Move> moves = ImmutableList.builder();
+            for (int i = 0; i < count; i++) {
+                moves.add(createMove(board, packedMoves[i]));
             }
-            return NULL_MOVE;
+            return moves.build();
         }
     }
 
@@ -0,0 +1,30 @@
+package com.chess.engine.board;
+
+/*
+ * One move array per search ply, allocated once up front. A search generates the moves of the
+ * node at ply N into forPly(N) and the arrays are reused for every node at that depth, so move
+ * generation does not allocate once the buffers exist. AllocationCheck, in the benchmarks
+ * module's test root, checks that this still holds.
+ */
+public final class MoveBuffers {
+
+    public static final int DEFAULT_MAX_PLY = 128;
+
+    private final int[][] buffers;
+
+    public MoveBuffers() {
+        this(DEFAULT_MAX_PLY);
+    }
+
+    public MoveBuffers(final int maxPly) {
+        this.buffers = new int[maxPly][MoveGenerator.MAX_MOVES];
+    }
+
+    public int[] forPly(final int ply) {
+        return this.buffers[ply];
+    }
+
+    public int getMaxPly() {
+        return this.buffers.length;
+    }
+}
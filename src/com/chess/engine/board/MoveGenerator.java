@@ -0,0 +1,330 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+import static com.chess.engine.board.PackedMove.*;
+
+/*
+ * Bitboard move generation into caller-supplied int arrays of packed moves. Every method takes
+ * the array and the number of moves already in it, appends, and returns the new count, so a
+ * search can reuse one buffer per ply (see MoveBuffers) and generate without allocating.
+ *
+ * generateLegalMoves works out the checkers and pinned pieces first and only emits moves that
+ * keep the king safe; generateLegalCaptures does the same for captures and promotions only.
+ * generateMoves is pseudo-legal: its moves may leave the king in check.
+ */
+public final class MoveGenerator {
+
+    // No legal chess position has more than 218 moves for one side
+    public static final int MAX_MOVES = 256;
+    public static final int MAX_PIECE_MOVES = 32;
+
+    private static final int PAWN = PieceType.PAWN.ordinal();
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+    private static final int KING = PieceType.KING.ordinal();
+
+    static final int WHITE_KING_TILE = 60;
+    static final int BLACK_KING_TILE = 4;
+    // tiles that must be empty between king and rook, shifted into place from the king tile
+    private static final long KINGSIDE_PATH = 0b110L;
+    private static final long QUEENSIDE_PATH = 0b111L;
+
+    private static final int[] CASTLING_RIGHTS_MASKS = initCastlingRightsMasks();
+
+    private MoveGenerator() {
+        throw new RuntimeException("Cannot instantiate MoveGenerator!");
+    }
+
+    public static int generateMoves(final Position position,
+                                    final Alliance alliance,
+                                    final int[] moves,
+                                    int count) {
+        for (long pawns = position.getPieceBitBoard(alliance, PieceType.PAWN); pawns != 0; pawns &= pawns - 1) {
+            count = generatePawnMoves(position, alliance, Long.numberOfTrailingZeros(pawns), BitBoards.ALL_TILES, moves, count);
+        }
+        for (int pieceType = KNIGHT; pieceType <= KING; pieceType++) {
+            long pieces = position.getPieceBitBoard(alliance, toPieceType(pieceType));
+            while (pieces != 0) {
+                count = generateMajorMoves(position, alliance, pieceType, Long.numberOfTrailingZeros(pieces),
+                        BitBoards.ALL_TILES, moves, count);
+                pieces &= pieces - 1;
+            }
+        }
+        return generateEnPassantMoves(position, alliance, false, moves, count);
+    }
+
+    public static int generateLegalMoves(final Position position,
+                                         final Alliance alliance,
+                                         final int[] moves,
+                                         final int count) {
+        return generateLegalMoves(position, alliance, BitBoards.ALL_TILES, BitBoards.ALL_TILES, true, moves, count);
+    }
+
+    // Legal captures, en passant and promotions, for a quiescence search
+    public static int generateLegalCaptures(final Position position,
+                                            final Alliance alliance,
+                                            final int[] moves,
+                                            final int count) {
+        final long opponentPieces = position.getAllianceBitBoard(alliance.opposite());
+        final long promotionRank = alliance.isWhite() ? BitBoards.EIGHTH_RANK : BitBoards.FIRST_RANK;
+        return generateLegalMoves(position, alliance, opponentPieces, opponentPieces | promotionRank, false, moves, count);
+    }
+
+    // Only moves to targets are emitted (pawnTargets for pawns), en passant aside
+    private static int generateLegalMoves(final Position position,
+                                          final Alliance alliance,
+                                          final long targets,
+                                          final long pawnTargets,
+                                          final boolean includeCastles,
+                                          final int[] moves,
+                                          int count) {
+        final Alliance opponent = alliance.opposite();
+        final long occupied = position.getOccupiedBitBoard();
+        final long king = position.getPieceBitBoard(alliance, PieceType.KING);
+        final int kingTile = Long.numberOfTrailingZeros(king);
+
+        // the king is lifted off the board so a slider checking it also covers the tiles behind it
+        long kingTargets = BitBoards.kingAttacks(kingTile) & ~position.getAllianceBitBoard(alliance) & targets;
+        while (kingTargets != 0) {
+            final int destinationCoordinate = Long.numberOfTrailingZeros(kingTargets);
+            if (attackersOf(position, destinationCoordinate, opponent, occupied ^ king) == 0) {
+                moves[count++] = encode(kingTile, destinationCoordinate, NORMAL, KING,
+                        capturedType(position, destinationCoordinate), NO_PIECE_TYPE);
+            }
+            kingTargets &= kingTargets - 1;
+        }
+
+        final long checkers = attackersOf(position, kingTile, opponent, occupied);
+        if (Long.bitCount(checkers) > 1) {
+            return count;
+        }
+        // in check, other pieces may only capture the checker or block it
+        final long checkMask = checkers == 0 ? BitBoards.ALL_TILES :
+                checkers | BitBoards.between(kingTile, Long.numberOfTrailingZeros(checkers));
+        final long pinned = pinnedPieces(position, alliance, kingTile);
+
+        for (long pawns = position.getPieceBitBoard(alliance, PieceType.PAWN); pawns != 0; pawns &= pawns - 1) {
+            final int currentCoordinate = Long.numberOfTrailingZeros(pawns);
+            count = generatePawnMoves(position, alliance, currentCoordinate,
+                    pawnTargets & checkMask & pinMask(pinned, kingTile, currentCoordinate), moves, count);
+        }
+        for (int pieceType = KNIGHT; pieceType <= QUEEN; pieceType++) {
+            long pieces = position.getPieceBitBoard(alliance, toPieceType(pieceType));
+            while (pieces != 0) {
+                final int currentCoordinate = Long.numberOfTrailingZeros(pieces);
+                count = generateMajorMoves(position, alliance, pieceType, currentCoordinate,
+                        targets & checkMask & pinMask(pinned, kingTile, currentCoordinate), moves, count);
+                pieces &= pieces - 1;
+            }
+        }
+        count = generateEnPassantMoves(position, alliance, true, moves, count);
+        return includeCastles && checkers == 0 ? generateCastleMoves(position, alliance, moves, count) : count;
+    }
+
+    // Every piece of byAlliance attacking the tile, treating only the given tiles as occupied
+    static long attackersOf(final Position position,
+                            final int tileCoordinate,
+                            final Alliance byAlliance,
+                            final long occupied) {
+        final long queens = position.getPieceBitBoard(byAlliance, PieceType.QUEEN);
+        final long attackers =
+                (BitBoards.pawnAttacks(byAlliance.opposite(), tileCoordinate) & position.getPieceBitBoard(byAlliance, PieceType.PAWN)) |
+                (BitBoards.knightAttacks(tileCoordinate) & position.getPieceBitBoard(byAlliance, PieceType.KNIGHT)) |
+                (BitBoards.kingAttacks(tileCoordinate) & position.getPieceBitBoard(byAlliance, PieceType.KING)) |
+                (BitBoards.bishopAttacks(tileCoordinate, occupied) & (position.getPieceBitBoard(byAlliance, PieceType.BISHOP) | queens)) |
+                (BitBoards.rookAttacks(tileCoordinate, occupied) & (position.getPieceBitBoard(byAlliance, PieceType.ROOK) | queens));
+        return attackers & occupied;
+    }
+
+    // Pieces of the alliance that are the only thing between their king and an enemy slider
+    private static long pinnedPieces(final Position position,
+                                     final Alliance alliance,
+                                     final int kingTile) {
+        final Alliance opponent = alliance.opposite();
+        final long opponentPieces = position.getAllianceBitBoard(opponent);
+        final long queens = position.getPieceBitBoard(opponent, PieceType.QUEEN);
+        long pinners = (BitBoards.rookAttacks(kingTile, opponentPieces) & (position.getPieceBitBoard(opponent, PieceType.ROOK) | queens)) |
+                       (BitBoards.bishopAttacks(kingTile, opponentPieces) & (position.getPieceBitBoard(opponent, PieceType.BISHOP) | queens));
+        long pinned = BitBoards.EMPTY;
+        while (pinners != 0) {
+            final long blockers = BitBoards.between(kingTile, Long.numberOfTrailingZeros(pinners)) & position.getOccupiedBitBoard();
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & position.getAllianceBitBoard(alliance);
+            }
+            pinners &= pinners - 1;
+        }
+        return pinned;
+    }
+
+    // A pinned piece may only move along the line through its king and its pinner
+    private static long pinMask(final long pinned,
+                                final int kingTile,
+                                final int currentCoordinate) {
+        return BitBoards.isSet(pinned, currentCoordinate) ? BitBoards.line(kingTile, currentCoordinate) : BitBoards.ALL_TILES;
+    }
+
+    // Castles for a king that is not in check; the king may not pass through or land on an attacked tile
+    public static int generateCastleMoves(final Position position,
+                                          final Alliance alliance,
+                                          final int[] moves,
+                                          int count) {
+        final int castlingRights = position.getCastlingRights();
+        final long occupied = position.getOccupiedBitBoard();
+        final int kingTile = alliance.isWhite() ? WHITE_KING_TILE : BLACK_KING_TILE;
+        final int kingside = alliance.isWhite() ? Position.WHITE_KINGSIDE : Position.BLACK_KINGSIDE;
+        final int queenside = alliance.isWhite() ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE;
+        final Alliance opponent = alliance.opposite();
+        if ((castlingRights & kingside) != 0 && (occupied & (KINGSIDE_PATH << kingTile)) == 0 &&
+                !position.isSquareAttacked(kingTile + 1, opponent) &&
+                !position.isSquareAttacked(kingTile + 2, opponent)) {
+            moves[count++] = encode(kingTile, kingTile + 2, KINGSIDE_CASTLE, KING, NO_PIECE_TYPE, NO_PIECE_TYPE);
+        }
+        if ((castlingRights & queenside) != 0 && (occupied & (QUEENSIDE_PATH << (kingTile - 3))) == 0 &&
+                !position.isSquareAttacked(kingTile - 1, opponent) &&
+                !position.isSquareAttacked(kingTile - 2, opponent)) {
+            moves[count++] = encode(kingTile, kingTile - 2, QUEENSIDE_CASTLE, KING, NO_PIECE_TYPE, NO_PIECE_TYPE);
+        }
+        return count;
+    }
+
+    public static int castlingRightsAfter(final int castlingRights,
+                                          final int from,
+                                          final int to) {
+        return castlingRights & CASTLING_RIGHTS_MASKS[from] & CASTLING_RIGHTS_MASKS[to];
+    }
+
+    public static long attacks(final int pieceType,
+                               final Alliance alliance,
+                               final int tileCoordinate,
+                               final long occupied) {
+        switch (toPieceType(pieceType)) {
+            case PAWN: return BitBoards.pawnAttacks(alliance, tileCoordinate);
+            case KNIGHT: return BitBoards.knightAttacks(tileCoordinate);
+            case BISHOP: return BitBoards.bishopAttacks(tileCoordinate, occupied);
+            case ROOK: return BitBoards.rookAttacks(tileCoordinate, occupied);
+            case QUEEN: return BitBoards.queenAttacks(tileCoordinate, occupied);
+            default: return BitBoards.kingAttacks(tileCoordinate);
+        }
+    }
+
+    private static int generateMajorMoves(final Position position,
+                                          final Alliance alliance,
+                                          final int pieceType,
+                                          final int currentCoordinate,
+                                          final long targetMask,
+                                          final int[] moves,
+                                          int count) {
+        final long occupied = position.getOccupiedBitBoard();
+        long targets = attacks(pieceType, alliance, currentCoordinate, occupied) & ~position.getAllianceBitBoard(alliance) & targetMask;
+        while (targets != 0) {
+            final int destinationCoordinate = Long.numberOfTrailingZeros(targets);
+            moves[count++] = encode(currentCoordinate, destinationCoordinate, NORMAL, pieceType,
+                    capturedType(position, destinationCoordinate), NO_PIECE_TYPE);
+            targets &= targets - 1;
+        }
+        return count;
+    }
+
+    private static int generatePawnMoves(final Position position,
+                                         final Alliance alliance,
+                                         final int currentCoordinate,
+                                         final long targetMask,
+                                         final int[] moves,
+                                         int count) {
+        final long pawn = BitBoards.tileMask(currentCoordinate);
+        final long emptyTiles = ~position.getOccupiedBitBoard();
+        final long promotionRank = alliance.isWhite() ? BitBoards.EIGHTH_RANK : BitBoards.FIRST_RANK;
+
+        final long push = BitBoards.forward(pawn, alliance) & emptyTiles;
+        if (push != 0) {
+            final int destinationCoordinate = Long.numberOfTrailingZeros(push);
+            if ((push & targetMask) != 0) {
+                if ((push & promotionRank) != 0) {
+                    count = addPromotions(currentCoordinate, destinationCoordinate, NO_PIECE_TYPE, moves, count);
+                } else {
+                    moves[count++] = encode(currentCoordinate, destinationCoordinate, NORMAL, PAWN, NO_PIECE_TYPE, NO_PIECE_TYPE);
+                }
+            }
+            final long startingRank = alliance.isWhite() ? BitBoards.SECOND_RANK : BitBoards.SEVENTH_RANK;
+            final long jump = BitBoards.forward(push, alliance) & emptyTiles & targetMask;
+            if ((pawn & startingRank) != 0 && jump != 0) {
+                moves[count++] = encode(currentCoordinate, Long.numberOfTrailingZeros(jump), PAWN_JUMP, PAWN,
+                        NO_PIECE_TYPE, NO_PIECE_TYPE);
+            }
+        }
+
+        long captures = BitBoards.pawnAttacks(alliance, currentCoordinate) &
+                        position.getAllianceBitBoard(alliance.opposite()) & targetMask;
+        while (captures != 0) {
+            final int destinationCoordinate = Long.numberOfTrailingZeros(captures);
+            final int capturedType = capturedType(position, destinationCoordinate);
+            if (BitBoards.isSet(promotionRank, destinationCoordinate)) {
+                count = addPromotions(currentCoordinate, destinationCoordinate, capturedType, moves, count);
+            } else {
+                moves[count++] = encode(currentCoordinate, destinationCoordinate, NORMAL, PAWN, capturedType, NO_PIECE_TYPE);
+            }
+            captures &= captures - 1;
+        }
+
+        return count;
+    }
+
+    // En passant can uncover the king along a rank through both pawns, so the legal check replays it on the occupancy
+    private static int generateEnPassantMoves(final Position position,
+                                              final Alliance alliance,
+                                              final boolean legalOnly,
+                                              final int[] moves,
+                                              int count) {
+        final int enPassantTile = position.getEnPassantTile();
+        if (enPassantTile == Position.NO_TILE || alliance != position.getMoveMaker()) {
+            return count;
+        }
+        final int capturedTile = enPassantTile + BoardUtils.NUM_TILES_PER_ROW * alliance.opposite().getDirection();
+        final int kingTile = Long.numberOfTrailingZeros(position.getPieceBitBoard(alliance, PieceType.KING));
+        long capturers = BitBoards.pawnAttacks(alliance.opposite(), enPassantTile) & position.getPieceBitBoard(alliance, PieceType.PAWN);
+        while (capturers != 0) {
+            final int currentCoordinate = Long.numberOfTrailingZeros(capturers);
+            final long occupied = position.getOccupiedBitBoard() ^ BitBoards.tileMask(currentCoordinate) ^
+                                  BitBoards.tileMask(capturedTile) ^ BitBoards.tileMask(enPassantTile);
+            if (!legalOnly || attackersOf(position, kingTile, alliance.opposite(), occupied) == 0) {
+                moves[count++] = encode(currentCoordinate, enPassantTile, EN_PASSANT, PAWN, PAWN, NO_PIECE_TYPE);
+            }
+            capturers &= capturers - 1;
+        }
+        return count;
+    }
+
+    private static int addPromotions(final int currentCoordinate,
+                                     final int destinationCoordinate,
+                                     final int capturedType,
+                                     final int[] moves,
+                                     int count) {
+        for (int promotionType = QUEEN; promotionType >= KNIGHT; promotionType--) {
+            moves[count++] = encode(currentCoordinate, destinationCoordinate, PROMOTION, PAWN, capturedType, promotionType);
+        }
+        return count;
+    }
+
+    private static int capturedType(final Position position,
+                                    final int tileCoordinate) {
+        final int pieceIndex = position.getPieceIndex(tileCoordinate);
+        return pieceIndex == Position.NO_PIECE ? NO_PIECE_TYPE : pieceIndex % BitBoards.NUM_PIECE_TYPES;
+    }
+
+    // Moving from or to one of these tiles loses the matching castling rights
+    private static int[] initCastlingRightsMasks() {
+        final int[] masks = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(masks, Position.WHITE_KINGSIDE | Position.WHITE_QUEENSIDE | Position.BLACK_KINGSIDE | Position.BLACK_QUEENSIDE);
+        masks[WHITE_KING_TILE] &= ~(Position.WHITE_KINGSIDE | Position.WHITE_QUEENSIDE);
+        masks[63] &= ~Position.WHITE_KINGSIDE;
+        masks[56] &= ~Position.WHITE_QUEENSIDE;
+        masks[BLACK_KING_TILE] &= ~(Position.BLACK_KINGSIDE | Position.BLACK_QUEENSIDE);
+        masks[7] &= ~Position.BLACK_KINGSIDE;
+        masks[0] &= ~Position.BLACK_QUEENSIDE;
+        return masks;
+    }
+}
@@ -0,0 +1,80 @@
+package com.chess.engine.board;
+
+import static com.chess.engine.board.PackedMove.*;
+
+/*
+ * Constant-time lookup of a move list by source and destination tile. Built once over a
+ * player's packed legal moves: a small open-addressed table maps each from/to pair to the
+ * position of its first move in the list. Promotions share a from/to pair and are generated
+ * next to each other, queen first, so find() returns the queen promotion and contains()
+ * checks the few moves after it.
+ */
+public final class MoveIndex {
+
+    private static final int INDEX_BITS = 9;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int EMPTY_SLOT = 0;
+
+    private final int[] moves;
+    private final int[] slots;
+    private final int slotMask;
+
+    public MoveIndex(final int[] moves) {
+        this.moves = moves;
+        // at most half full, so probe sequences stay short
+        final int numSlots = Integer.highestOneBit(Math.max(moves.length, 1) * 2) * 2;
+        this.slots = new int[numSlots];
+        this.slotMask = numSlots - 1;
+        for (int i = moves.length - 1; i >= 0; i--) {
+            put(fromTo(moves[i]), i);
+        }
+    }
+
+    // The move from one tile to the other, or NULL_MOVE if there is none
+    public int find(final int currentCoordinate,
+                    final int destinationCoordinate) {
+        final int position = position(currentCoordinate | destinationCoordinate << 6);
+        return position < 0 ? NULL_MOVE : this.moves[position];
+    }
+
+    public boolean contains(final int packedMove) {
+        final int fromTo = fromTo(packedMove);
+        final int position = position(fromTo);
+        if (position < 0) {
+            return false;
+        }
+        for (int i = position; i < this.moves.length && fromTo(this.moves[i]) == fromTo; i++) {
+            if (this.moves[i] == packedMove) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void put(final int fromTo,
+                     final int position) {
+        int slot = hash(fromTo);
+        while (this.slots[slot] != EMPTY_SLOT && this.slots[slot] >>> INDEX_BITS != fromTo) {
+            slot = (slot + 1) & this.slotMask;
+        }
+        // walking the list backwards leaves the earliest move of each pair in the slot
+        this.slots[slot] = fromTo << INDEX_BITS | (position + 1);
+    }
+
+    private int position(final int fromTo) {
+        for (int slot = hash(fromTo); this.slots[slot] != EMPTY_SLOT; slot = (slot + 1) & this.slotMask) {
+            if (this.slots[slot] >>> INDEX_BITS == fromTo) {
+                return (this.slots[slot] & INDEX_MASK) - 1;
+            }
+        }
+        return -1;
+    }
+
+    private int hash(final int fromTo) {
+        return (fromTo * 0x9E3779B1 >>> 16) & this.slotMask;
+    }
+
+    private static int fromTo(final int packedMove) {
+        return getCurrentCoordinate(packedMove) | getDestinationCoordinate(packedMove) << 6;
+    }
+}
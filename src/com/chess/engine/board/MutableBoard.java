@@ -0,0 +1,322 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.google.common.collect.Iterables;
+
+import java.util.Arrays;
+
+import static com.chess.engine.board.PackedMove.*;
+
+/*
+ * A single position that is updated in place by makeMove and restored by unmakeMove, for
+ * searches that would otherwise rebuild a whole Board per node. Each makeMove pushes a small
+ * undo record, so moves must be unmade in reverse order. snapshot() freezes the current
+ * position into a normal immutable Board for the GUI or anything else that needs one.
+ *
+ * Not thread-safe; give each search thread its own instance.
+ */
+public final class MutableBoard implements Position {
+
+    private static final int INITIAL_HISTORY_SIZE = 128;
+
+    private final long[] pieceBitBoards;
+    private final long[] allianceBitBoards;
+    private long occupiedBitBoard;
+    private final int[] pieceIndexes;
+
+    private Alliance moveMaker;
+    private int castlingRights;
+    private int enPassantTile;
+    private long zobristKey;
+
+    // kept up to date by addPiece, removePiece and movePiece, so unmakeMove restores them for free
+    private int middlegameScore;
+    private int endgameScore;
+    private int gamePhase;
+
+    private UndoRecord[] history;
+    private int ply;
+
+    public MutableBoard(final Board board) {
+        this.pieceBitBoards = new long[BitBoards.NUM_PIECE_BITBOARDS];
+        this.allianceBitBoards = new long[Alliance.values().length];
+        this.pieceIndexes = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(this.pieceIndexes, NO_PIECE);
+        for (final Piece piece : Iterables.concat(board.getWhitePieces(), board.getBlackPieces())) {
+            addPiece(BitBoards.pieceIndex(piece.getPieceAlliance(), piece.getPieceType()), piece.getPiecePosition());
+        }
+        this.moveMaker = board.currentPlayer().getAlliance();
+        this.castlingRights = board.getCastlingRights();
+        this.enPassantTile = board.getEnPassantTile();
+        this.zobristKey = board.getZobristKey();
+        this.history = createHistory(INITIAL_HISTORY_SIZE);
+        this.ply = 0;
+    }
+
+    @Override
+    public long getPieceBitBoard(final Alliance alliance,
+                                 final PieceType pieceType) {
+        return this.pieceBitBoards[BitBoards.pieceIndex(alliance, pieceType)];
+    }
+
+    @Override
+    public long getAllianceBitBoard(final Alliance alliance) {
+        return this.allianceBitBoards[alliance.ordinal()];
+    }
+
+    @Override
+    public long getOccupiedBitBoard() {
+        return this.occupiedBitBoard;
+    }
+
+    @Override
+    public int getPieceIndex(final int tileCoordinate) {
+        return this.pieceIndexes[tileCoordinate];
+    }
+
+    @Override
+    public Alliance getMoveMaker() {
+        return this.moveMaker;
+    }
+
+    @Override
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    @Override
+    public int getEnPassantTile() {
+        return this.enPassantTile;
+    }
+
+    @Override
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    @Override
+    public int getMiddlegameScore() {
+        return this.middlegameScore;
+    }
+
+    @Override
+    public int getEndgameScore() {
+        return this.endgameScore;
+    }
+
+    @Override
+    public int getGamePhase() {
+        return this.gamePhase;
+    }
+
+    public int getPly() {
+        return this.ply;
+    }
+
+    // Legal moves for the side to move; writes into moves and returns the count
+    public int generateMoves(final int[] moves) {
+        return MoveGenerator.generateLegalMoves(this, this.moveMaker, moves, 0);
+    }
+
+    public void makeMove(final Move move) {
+        makeMove(move.getPackedMove());
+    }
+
+    // Plays a move generated for this position; the move is not checked for legality
+    public void makeMove(final int packedMove) {
+        final int from = getCurrentCoordinate(packedMove);
+        final int to = getDestinationCoordinate(packedMove);
+        final int kind = getKind(packedMove);
+        final int movedPiece = this.pieceIndexes[from];
+        final UndoRecord undo = pushUndoRecord();
+        undo.packedMove = packedMove;
+        undo.movedPiece = movedPiece;
+        undo.capturedPiece = NO_PIECE;
+        undo.castlingRights = this.castlingRights;
+        undo.enPassantTile = this.enPassantTile;
+        undo.zobristKey = this.zobristKey;
+        this.zobristKey = Zobrist.updateKey(this.zobristKey, this, packedMove);
+
+        final int capturedTile = kind == EN_PASSANT ? to + BoardUtils.NUM_TILES_PER_ROW * this.moveMaker.opposite().getDirection() : to;
+        if (this.pieceIndexes[capturedTile] != NO_PIECE) {
+            undo.capturedPiece = this.pieceIndexes[capturedTile];
+            removePiece(undo.capturedPiece, capturedTile);
+        }
+
+        movePiece(movedPiece, from, to);
+        switch (kind) {
+            case KINGSIDE_CASTLE:
+                movePiece(this.pieceIndexes[to + 1], to + 1, to - 1);
+                break;
+            case QUEENSIDE_CASTLE:
+                movePiece(this.pieceIndexes[to - 2], to - 2, to + 1);
+                break;
+            case PROMOTION:
+                removePiece(movedPiece, to);
+                addPiece(movedPiece - PieceType.PAWN.ordinal() + getPromotionType(packedMove), to);
+                break;
+            default:
+                break;
+        }
+
+        this.enPassantTile = kind == PAWN_JUMP ? (from + to) / 2 : NO_TILE;
+        this.castlingRights = MoveGenerator.castlingRightsAfter(this.castlingRights, from, to);
+        this.moveMaker = this.moveMaker.opposite();
+    }
+
+    public void unmakeMove() {
+        if (this.ply == 0) {
+            throw new RuntimeException("No move to unmake!");
+        }
+        final UndoRecord undo = this.history[--this.ply];
+        final int packedMove = undo.packedMove;
+        final int from = getCurrentCoordinate(packedMove);
+        final int to = getDestinationCoordinate(packedMove);
+        final int kind = getKind(packedMove);
+        this.moveMaker = this.moveMaker.opposite();
+        this.castlingRights = undo.castlingRights;
+        this.enPassantTile = undo.enPassantTile;
+        this.zobristKey = undo.zobristKey;
+
+        switch (kind) {
+            case KINGSIDE_CASTLE:
+                movePiece(this.pieceIndexes[to - 1], to - 1, to + 1);
+                break;
+            case QUEENSIDE_CASTLE:
+                movePiece(this.pieceIndexes[to + 1], to + 1, to - 2);
+                break;
+            case PROMOTION:
+                removePiece(this.pieceIndexes[to], to);
+                addPiece(undo.movedPiece, to);
+                break;
+            default:
+                break;
+        }
+        movePiece(undo.movedPiece, to, from);
+        if (undo.capturedPiece != NO_PIECE) {
+            addPiece(undo.capturedPiece, kind == EN_PASSANT ?
+                    to + BoardUtils.NUM_TILES_PER_ROW * this.moveMaker.opposite().getDirection() : to);
+        }
+    }
+
+    // Freezes the current position into an immutable Board
+    public Board snapshot() {
+        final Board.Builder builder = new Board.Builder();
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            if (this.pieceIndexes[i] != NO_PIECE) {
+                builder.setPiece(createPiece(this.pieceIndexes[i], i));
+            }
+        }
+        if (this.enPassantTile != NO_TILE) {
+            final int pawnTile = this.enPassantTile - BoardUtils.NUM_TILES_PER_ROW * this.moveMaker.getDirection();
+            builder.setEnPassantPawn((Pawn) createPiece(this.pieceIndexes[pawnTile], pawnTile));
+        }
+        builder.setMoveMaker(this.moveMaker);
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    private void addPiece(final int pieceIndex,
+                          final int tileCoordinate) {
+        final long tile = BitBoards.tileMask(tileCoordinate);
+        this.pieceBitBoards[pieceIndex] |= tile;
+        this.allianceBitBoards[pieceIndex / BitBoards.NUM_PIECE_TYPES] |= tile;
+        this.occupiedBitBoard |= tile;
+        this.pieceIndexes[tileCoordinate] = pieceIndex;
+        this.middlegameScore += PieceSquareTables.middlegame(pieceIndex, tileCoordinate);
+        this.endgameScore += PieceSquareTables.endgame(pieceIndex, tileCoordinate);
+        this.gamePhase += PieceSquareTables.phase(pieceIndex);
+    }
+
+    private void removePiece(final int pieceIndex,
+                             final int tileCoordinate) {
+        final long tile = BitBoards.tileMask(tileCoordinate);
+        this.pieceBitBoards[pieceIndex] &= ~tile;
+        this.allianceBitBoards[pieceIndex / BitBoards.NUM_PIECE_TYPES] &= ~tile;
+        this.occupiedBitBoard &= ~tile;
+        this.pieceIndexes[tileCoordinate] = NO_PIECE;
+        this.middlegameScore -= PieceSquareTables.middlegame(pieceIndex, tileCoordinate);
+        this.endgameScore -= PieceSquareTables.endgame(pieceIndex, tileCoordinate);
+        this.gamePhase -= PieceSquareTables.phase(pieceIndex);
+    }
+
+    private void movePiece(final int pieceIndex,
+                           final int from,
+                           final int to) {
+        final long fromTo = BitBoards.tileMask(from) | BitBoards.tileMask(to);
+        this.pieceBitBoards[pieceIndex] ^= fromTo;
+        this.allianceBitBoards[pieceIndex / BitBoards.NUM_PIECE_TYPES] ^= fromTo;
+        this.occupiedBitBoard ^= fromTo;
+        this.pieceIndexes[from] = NO_PIECE;
+        this.pieceIndexes[to] = pieceIndex;
+        this.middlegameScore += PieceSquareTables.middlegame(pieceIndex, to) - PieceSquareTables.middlegame(pieceIndex, from);
+        this.endgameScore += PieceSquareTables.endgame(pieceIndex, to) - PieceSquareTables.endgame(pieceIndex, from);
+    }
+
+    private UndoRecord pushUndoRecord() {
+        if (this.ply == this.history.length) {
+            final UndoRecord[] grown = createHistory(this.history.length * 2);
+            System.arraycopy(this.history, 0, grown, 0, this.history.length);
+            this.history = grown;
+        }
+        return this.history[this.ply++];
+    }
+
+    private Piece createPiece(final int pieceIndex,
+                              final int tileCoordinate) {
+        final Alliance alliance = Alliance.values()[pieceIndex / BitBoards.NUM_PIECE_TYPES];
+        final PieceType pieceType = toPieceType(pieceIndex % BitBoards.NUM_PIECE_TYPES);
+        final boolean isFirstMove;
+        switch (pieceType) {
+            case PAWN:
+                final long startingRank = alliance.isWhite() ? BitBoards.SECOND_RANK : BitBoards.SEVENTH_RANK;
+                isFirstMove = BitBoards.isSet(startingRank, tileCoordinate);
+                break;
+            case ROOK:
+                isFirstMove = (this.castlingRights & rookCastlingRight(tileCoordinate)) != 0;
+                break;
+            case KING:
+                final int kingRights = alliance.isWhite() ? WHITE_KINGSIDE | WHITE_QUEENSIDE : BLACK_KINGSIDE | BLACK_QUEENSIDE;
+                isFirstMove = (this.castlingRights & kingRights) != 0;
+                break;
+            default:
+                isFirstMove = false;
+        }
+        return Piece.createPiece(pieceType, alliance, tileCoordinate, isFirstMove);
+    }
+
+    private static int rookCastlingRight(final int tileCoordinate) {
+        switch (tileCoordinate) {
+            case 63: return WHITE_KINGSIDE;
+            case 56: return WHITE_QUEENSIDE;
+            case 7: return BLACK_KINGSIDE;
+            case 0: return BLACK_QUEENSIDE;
+            default: return 0;
+        }
+    }
+
+    private static UndoRecord[] createHistory(final int size) {
+        final UndoRecord[] history = new UndoRecord[size];
+        for (int i = 0; i < size; i++) {
+            history[i] = new UndoRecord();
+        }
+        return history;
+    }
+
+    // Everything makeMove destroys, so unmakeMove can put it back
+    private static final class UndoRecord {
+        int packedMove;
+        int movedPiece;
+        int capturedPiece;
+        int castlingRights;
+        int enPassantTile;
+        long zobristKey;
+    }
+}
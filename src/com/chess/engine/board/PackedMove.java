@@ -0,0 +1,105 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece.PieceType;
+
+/*
+ * Moves packed into a single int, so generators and move lists can work on primitives and a
+ * Move object is only built when something needs one (see Move.MoveFactory).
+ *
+ *   bits  0-5   source tile
+ *   bits  6-11  destination tile
+ *   bits 12-14  kind (NORMAL, PAWN_JUMP, EN_PASSANT, KINGSIDE_CASTLE, QUEENSIDE_CASTLE, PROMOTION)
+ *   bits 15-17  moved piece type
+ *   bits 18-20  captured piece type, or NO_PIECE_TYPE
+ *   bits 21-23  promotion piece type, or NO_PIECE_TYPE
+ *
+ * Piece types are PieceType ordinals. 0 is never a real move and stands for the null move.
+ */
+public final class PackedMove {
+
+    public static final int NULL_MOVE = 0;
+
+    public static final int NORMAL = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int KINGSIDE_CASTLE = 3;
+    public static final int QUEENSIDE_CASTLE = 4;
+    public static final int PROMOTION = 5;
+
+    public static final int NO_PIECE_TYPE = 7;
+
+    private static final int TILE_MASK = 0x3F;
+    private static final int FIELD_MASK = 0x7;
+
+    private static final int DESTINATION_SHIFT = 6;
+    private static final int KIND_SHIFT = 12;
+    private static final int MOVED_TYPE_SHIFT = 15;
+    private static final int CAPTURED_TYPE_SHIFT = 18;
+    private static final int PROMOTION_TYPE_SHIFT = 21;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private PackedMove() {
+        throw new RuntimeException("Cannot instantiate PackedMove!");
+    }
+
+    public static int encode(final int currentCoordinate,
+                             final int destinationCoordinate,
+                             final int kind,
+                             final int movedType,
+                             final int capturedType,
+                             final int promotionType) {
+        return currentCoordinate |
+               destinationCoordinate << DESTINATION_SHIFT |
+               kind << KIND_SHIFT |
+               movedType << MOVED_TYPE_SHIFT |
+               capturedType << CAPTURED_TYPE_SHIFT |
+               promotionType << PROMOTION_TYPE_SHIFT;
+    }
+
+    public static int getCurrentCoordinate(final int packedMove) {
+        return packedMove & TILE_MASK;
+    }
+
+    public static int getDestinationCoordinate(final int packedMove) {
+        return (packedMove >>> DESTINATION_SHIFT) & TILE_MASK;
+    }
+
+    public static int getKind(final int packedMove) {
+        return (packedMove >>> KIND_SHIFT) & FIELD_MASK;
+    }
+
+    public static int getMovedType(final int packedMove) {
+        return (packedMove >>> MOVED_TYPE_SHIFT) & FIELD_MASK;
+    }
+
+    public static int getCapturedType(final int packedMove) {
+        return (packedMove >>> CAPTURED_TYPE_SHIFT) & FIELD_MASK;
+    }
+
+    public static int getPromotionType(final int packedMove) {
+        return (packedMove >>> PROMOTION_TYPE_SHIFT) & FIELD_MASK;
+    }
+
+    public static boolean isCapture(final int packedMove) {
+        return getCapturedType(packedMove) != NO_PIECE_TYPE;
+    }
+
+    public static boolean isPromotion(final int packedMove) {
+        return getKind(packedMove) == PROMOTION;
+    }
+
+    public static PieceType toPieceType(final int pieceType) {
+        return PIECE_TYPES[pieceType];
+    }
+
+    // Coordinate notation such as e2e4 or e7e8Q
+    public static String toString(final int packedMove) {
+        if (packedMove == NULL_MOVE) {
+            return "null";
+        }
+        final String move = BoardUtils.getPositionAtCoordinate(getCurrentCoordinate(packedMove)) +
+                            BoardUtils.getPositionAtCoordinate(getDestinationCoordinate(packedMove));
+        return isPromotion(packedMove) ? move + toPieceType(getPromotionType(packedMove)) : move;
+    }
+}
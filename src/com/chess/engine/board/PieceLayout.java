@@ -0,0 +1,122 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+/*
+ * Where the pieces stand, stored in chunks so successive boards can share them: the mailbox
+ * is one chunk per rank and the piece bitboards are one chunk per alliance. Layouts are never
+ * modified once built. An Editor copies a chunk the first time it writes to it and shares
+ * every other chunk with the layout it started from, so a quiet move copies one bitboard chunk
+ * and one or two ranks instead of the whole board.
+ */
+final class PieceLayout {
+
+    private static final int RANK_SHIFT = 3;
+    private static final int FILE_MASK = BoardUtils.NUM_TILES_PER_ROW - 1;
+    private static final int NUM_RANKS = BoardUtils.NUM_TILES / BoardUtils.NUM_TILES_PER_ROW;
+    private static final int NUM_ALLIANCES = Alliance.values().length;
+
+    private static final int ALL_RANKS = (1 << NUM_RANKS) - 1;
+    private static final int ALL_ALLIANCES = (1 << NUM_ALLIANCES) - 1;
+
+    private final Piece[][] ranks;
+    private final long[][] pieceBitBoards;
+
+    private PieceLayout(final Piece[][] ranks,
+                        final long[][] pieceBitBoards) {
+        this.ranks = ranks;
+        this.pieceBitBoards = pieceBitBoards;
+    }
+
+    Piece getPiece(final int tileCoordinate) {
+        return this.ranks[tileCoordinate >>> RANK_SHIFT][tileCoordinate & FILE_MASK];
+    }
+
+    long getPieceBitBoard(final Alliance alliance,
+                          final PieceType pieceType) {
+        return this.pieceBitBoards[alliance.ordinal()][pieceType.ordinal()];
+    }
+
+    long getAllianceBitBoard(final Alliance alliance) {
+        long allianceBitBoard = BitBoards.EMPTY;
+        for (final long pieceBitBoard : this.pieceBitBoards[alliance.ordinal()]) {
+            allianceBitBoard |= pieceBitBoard;
+        }
+        return allianceBitBoard;
+    }
+
+    boolean hasSameBitBoards(final PieceLayout other) {
+        return Arrays.deepEquals(this.pieceBitBoards, other.pieceBitBoards);
+    }
+
+    // Builds up a new layout; chunks are copied on first write, so the source layout is untouched
+    static final class Editor {
+
+        private final Piece[][] ranks;
+        private final long[][] pieceBitBoards;
+        private int ownedRanks;
+        private int ownedAlliances;
+
+        Editor() {
+            this.ranks = new Piece[NUM_RANKS][BoardUtils.NUM_TILES_PER_ROW];
+            this.pieceBitBoards = new long[NUM_ALLIANCES][BitBoards.NUM_PIECE_TYPES];
+            this.ownedRanks = ALL_RANKS;
+            this.ownedAlliances = ALL_ALLIANCES;
+        }
+
+        Editor(final PieceLayout layout) {
+            this.ranks = layout.ranks.clone();
+            this.pieceBitBoards = layout.pieceBitBoards.clone();
+            this.ownedRanks = 0;
+            this.ownedAlliances = 0;
+        }
+
+        Piece getPiece(final int tileCoordinate) {
+            return this.ranks[tileCoordinate >>> RANK_SHIFT][tileCoordinate & FILE_MASK];
+        }
+
+        void setPiece(final int tileCoordinate,
+                      final Piece piece) {
+            clearTile(tileCoordinate);
+            ownRank(tileCoordinate >>> RANK_SHIFT)[tileCoordinate & FILE_MASK] = piece;
+            ownAlliance(piece.getPieceAlliance().ordinal())[piece.getPieceType().ordinal()] |=
+                    BitBoards.tileMask(tileCoordinate);
+        }
+
+        void clearTile(final int tileCoordinate) {
+            final Piece piece = getPiece(tileCoordinate);
+            if (piece != null) {
+                ownAlliance(piece.getPieceAlliance().ordinal())[piece.getPieceType().ordinal()] &=
+                        ~BitBoards.tileMask(tileCoordinate);
+                ownRank(tileCoordinate >>> RANK_SHIFT)[tileCoordinate & FILE_MASK] = null;
+            }
+        }
+
+        // The editor gives up its chunks to the layout and copies again if it is written to later
+        PieceLayout build() {
+            this.ownedRanks = 0;
+            this.ownedAlliances = 0;
+            return new PieceLayout(this.ranks.clone(), this.pieceBitBoards.clone());
+        }
+
+        private Piece[] ownRank(final int rank) {
+            if ((this.ownedRanks & (1 << rank)) == 0) {
+                this.ranks[rank] = this.ranks[rank].clone();
+                this.ownedRanks |= 1 << rank;
+            }
+            return this.ranks[rank];
+        }
+
+        private long[] ownAlliance(final int alliance) {
+            if ((this.ownedAlliances & (1 << alliance)) == 0) {
+                this.pieceBitBoards[alliance] = this.pieceBitBoards[alliance].clone();
+                this.ownedAlliances |= 1 << alliance;
+            }
+            return this.pieceBitBoards[alliance];
+        }
+    }
+}
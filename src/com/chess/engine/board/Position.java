@@ -0,0 +1,58 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/*
+ * The read-only bitboard view of a position that MoveGenerator works from. Implemented by
+ * both the immutable Board and the in-place MutableBoard.
+ */
+public interface Position {
+
+    int NO_PIECE = -1;
+    int NO_TILE = -1;
+
+    int WHITE_KINGSIDE = 1;
+    int WHITE_QUEENSIDE = 2;
+    int BLACK_KINGSIDE = 4;
+    int BLACK_QUEENSIDE = 8;
+
+    Alliance getMoveMaker();
+
+    long getPieceBitBoard(Alliance alliance, PieceType pieceType);
+
+    long getAllianceBitBoard(Alliance alliance);
+
+    long getOccupiedBitBoard();
+
+    // BitBoards.pieceIndex of the piece on the tile, or NO_PIECE
+    int getPieceIndex(int tileCoordinate);
+
+    int getCastlingRights();
+
+    // The tile a pawn just jumped over, or NO_TILE
+    int getEnPassantTile();
+
+    // Zobrist key of pieces, side to move, castling rights and en passant tile
+    long getZobristKey();
+
+    // PieceSquareTables totals, White minus Black; a board that keeps them incrementally overrides these
+    default int getMiddlegameScore() {
+        return PieceSquareTables.middlegameScore(this);
+    }
+
+    default int getEndgameScore() {
+        return PieceSquareTables.endgameScore(this);
+    }
+
+    // From PieceSquareTables.MAX_PHASE with every piece on down to 0; promotions can take it past the maximum
+    default int getGamePhase() {
+        return PieceSquareTables.gamePhase(this);
+    }
+
+    // Probes outward from the tile with each piece's attack pattern; needs no move list
+    default boolean isSquareAttacked(final int tileCoordinate,
+                                     final Alliance byAlliance) {
+        return MoveGenerator.attackersOf(this, tileCoordinate, byAlliance, getOccupiedBitBoard()) != 0;
+    }
+}
@@ -0,0 +1,85 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import static com.chess.engine.board.PackedMove.*;
+
+/*
+ * Static exchange evaluation: the material a move wins or loses once both sides have finished
+ * capturing on its destination tile, each always recapturing with its least valuable piece and
+ * free to stop when carrying on would lose more. Works on bitboards alone, without making any
+ * moves. Sliders lined up behind a capturer join in as the tile in front of them is vacated.
+ * Pins and checks are ignored, as usual for SEE.
+ */
+public final class StaticExchange {
+
+    // Enough for every piece on the board to capture on one tile; the size of a gain buffer
+    public static final int MAX_EXCHANGES = 32;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private StaticExchange() {
+        throw new RuntimeException("Cannot instantiate StaticExchange!");
+    }
+
+    /*
+     * Centipawns won by the side making the move, by PieceType.getPieceValue(); negative if it
+     * loses material. gain is scratch space of at least MAX_EXCHANGES ints owned by the caller,
+     * so the search can call this for every capture without allocating.
+     */
+    public static int evaluate(final Position position,
+                               final int packedMove,
+                               final int[] gain) {
+        final int from = getCurrentCoordinate(packedMove);
+        final int to = getDestinationCoordinate(packedMove);
+        long occupied = position.getOccupiedBitBoard() ^ BitBoards.tileMask(from);
+        if (getKind(packedMove) == EN_PASSANT) {
+            occupied ^= BitBoards.tileMask(to + BoardUtils.NUM_TILES_PER_ROW * position.getMoveMaker().opposite().getDirection());
+        }
+        gain[0] = isCapture(packedMove) ? pieceValue(getCapturedType(packedMove)) : 0;
+        // the value now standing on the tile, which is what the next capture wins
+        int onTile = pieceValue(getMovedType(packedMove));
+        if (isPromotion(packedMove)) {
+            onTile = pieceValue(getPromotionType(packedMove));
+            gain[0] += onTile - pieceValue(PieceType.PAWN.ordinal());
+        }
+
+        Alliance side = position.getMoveMaker().opposite();
+        int exchanges = 0;
+        while (exchanges < MAX_EXCHANGES - 1) {
+            final long attackers = MoveGenerator.attackersOf(position, to, side, occupied);
+            if (attackers == 0) {
+                break;
+            }
+            final int attackerType = leastValuableAttacker(position, side, attackers);
+            exchanges++;
+            gain[exchanges] = onTile - gain[exchanges - 1];
+            occupied ^= Long.lowestOneBit(attackers & position.getPieceBitBoard(side, PIECE_TYPES[attackerType]));
+            onTile = pieceValue(attackerType);
+            side = side.opposite();
+        }
+        // each side only makes its capture if it does better than stopping
+        while (exchanges > 0) {
+            gain[exchanges - 1] = -Math.max(-gain[exchanges - 1], gain[exchanges]);
+            exchanges--;
+        }
+        return gain[0];
+    }
+
+    // PieceType order runs from the least to the most valuable piece
+    private static int leastValuableAttacker(final Position position,
+                                             final Alliance side,
+                                             final long attackers) {
+        for (final PieceType pieceType : PIECE_TYPES) {
+            if ((attackers & position.getPieceBitBoard(side, pieceType)) != 0) {
+                return pieceType.ordinal();
+            }
+        }
+        throw new RuntimeException("No attacker among " + Long.toHexString(attackers));
+    }
+
+    private static int pieceValue(final int pieceType) {
+        return PIECE_TYPES[pieceType].getPieceValue();
+    }
+}
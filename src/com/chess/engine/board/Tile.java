@@ -1,10 +1,8 @@
 package com.chess.engine.board;
 
+import com.chess.engine.Alliance;
 import com.chess.engine.pieces.Piece;
-import com.google.common.collect.ImmutableMap;
-
-import java.util.HashMap;
-import java.util.Map;
+import com.chess.engine.pieces.Piece.PieceType;
 
 public abstract class Tile {
 
@@ -12,20 +10,40 @@ public abstract class Tile {
     // final to maintain immutability
     protected final int TileCoordinate;
 
-    private static final Map<Integer, emptyTile> EMPTY_TILES_CACHE = createAllEmptyTiles();
+    private static final emptyTile[] EMPTY_TILES_CACHE = createAllEmptyTiles();
+    // pieces are flyweights, so one occupied tile per possible piece covers every board
+    private static final occupiedTile[] OCCUPIED_TILES_CACHE = createAllOccupiedTiles();
 
-    private static Map<Integer,emptyTile> createAllEmptyTiles() {
-        final Map<Integer, emptyTile> emptyTileMap = new HashMap<>();
+    private static emptyTile[] createAllEmptyTiles() {
+        final emptyTile[] emptyTiles = new emptyTile[BoardUtils.NUM_TILES];
 
         for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            emptyTileMap.put(i, new emptyTile(i));
+            emptyTiles[i] = new emptyTile(i);
+        }
+
+        return emptyTiles;
+    }
+
+    private static occupiedTile[] createAllOccupiedTiles() {
+        final occupiedTile[] occupiedTiles = new occupiedTile[Piece.NUM_FLYWEIGHTS];
+
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+                    for (final boolean isFirstMove : new boolean[] {false, true}) {
+                        final Piece piece = Piece.createPiece(pieceType, alliance, i, isFirstMove);
+                        occupiedTiles[Piece.flyweightIndex(piece)] = new occupiedTile(i, piece);
+                    }
+                }
+            }
         }
 
-        return ImmutableMap.copyOf(emptyTileMap);
+        return occupiedTiles;
     }
 
+    // Always a cached tile; the piece must be standing on the tile
     public static Tile createTile(final int tileCoordinate, final Piece piece) {
-        return piece != null ? new occupiedTile(tileCoordinate, piece) : EMPTY_TILES_CACHE.get(tileCoordinate);
+        return piece != null ? OCCUPIED_TILES_CACHE[Piece.flyweightIndex(piece)] : EMPTY_TILES_CACHE[tileCoordinate];
     }
 
     private Tile(final int TileCoordinate) {
@@ -0,0 +1,96 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+
+import java.util.Random;
+
+import static com.chess.engine.board.PackedMove.*;
+
+/*
+ * 64-bit position keys: one random number per piece per tile, one for Black to move, one per
+ * castling-rights combination and one per en passant file, XORed together. A move changes
+ * only a handful of those, so updateKey derives the child's key from the parent's instead of
+ * rehashing the board. The seed is fixed, so keys are stable between runs.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x2B7E151628AED2A6L;
+
+    private static final long[][] PIECE_KEYS = new long[BitBoards.NUM_PIECE_BITBOARDS][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final Random random = new Random(SEED);
+        for (final long[] pieceKeys : PIECE_KEYS) {
+            for (int i = 0; i < pieceKeys.length; i++) {
+                pieceKeys[i] = random.nextLong();
+            }
+        }
+        for (int i = 0; i < CASTLING_KEYS.length; i++) {
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("Cannot instantiate Zobrist!");
+    }
+
+    // Hashes the position from scratch; only needed for positions not reached by a move
+    public static long calculateKey(final Position position) {
+        long key = castlingKey(position.getCastlingRights()) ^ enPassantKey(position.getEnPassantTile());
+        if (!position.getMoveMaker().isWhite()) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+        for (long occupied = position.getOccupiedBitBoard(); occupied != 0; occupied &= occupied - 1) {
+            final int tileCoordinate = Long.numberOfTrailingZeros(occupied);
+            key ^= pieceKey(position.getPieceIndex(tileCoordinate), tileCoordinate);
+        }
+        return key;
+    }
+
+    // The key after the move is played on the position, which must still be the position before it
+    public static long updateKey(final long key,
+                                 final Position position,
+                                 final int packedMove) {
+        final int from = getCurrentCoordinate(packedMove);
+        final int to = getDestinationCoordinate(packedMove);
+        final int kind = getKind(packedMove);
+        final Alliance moveMaker = position.getMoveMaker();
+        final int movedPiece = position.getPieceIndex(from);
+        final int castlingRights = position.getCastlingRights();
+
+        long updated = key ^ BLACK_TO_MOVE_KEY ^ pieceKey(movedPiece, from);
+        updated ^= pieceKey(kind == PROMOTION ? movedPiece - getMovedType(packedMove) + getPromotionType(packedMove) : movedPiece, to);
+        if (isCapture(packedMove)) {
+            final int capturedTile = kind == EN_PASSANT ? to + BoardUtils.NUM_TILES_PER_ROW * moveMaker.opposite().getDirection() : to;
+            updated ^= pieceKey(position.getPieceIndex(capturedTile), capturedTile);
+        }
+        if (kind == KINGSIDE_CASTLE) {
+            updated ^= pieceKey(position.getPieceIndex(to + 1), to + 1) ^ pieceKey(position.getPieceIndex(to + 1), to - 1);
+        } else if (kind == QUEENSIDE_CASTLE) {
+            updated ^= pieceKey(position.getPieceIndex(to - 2), to - 2) ^ pieceKey(position.getPieceIndex(to - 2), to + 1);
+        }
+        updated ^= castlingKey(castlingRights) ^ castlingKey(MoveGenerator.castlingRightsAfter(castlingRights, from, to));
+        updated ^= enPassantKey(position.getEnPassantTile()) ^ enPassantKey(kind == PAWN_JUMP ? (from + to) / 2 : Position.NO_TILE);
+        return updated;
+    }
+
+    public static long pieceKey(final int pieceIndex,
+                                final int tileCoordinate) {
+        return PIECE_KEYS[pieceIndex][tileCoordinate];
+    }
+
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    public static long enPassantKey(final int enPassantTile) {
+        return enPassantTile == Position.NO_TILE ? 0L : EN_PASSANT_KEYS[enPassantTile % BoardUtils.NUM_TILES_PER_ROW];
+    }
+}
@@ -0,0 +1,191 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveBuffers;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * Counts the leaf nodes of the legal move tree to a fixed depth, for checking move generation
+ * against published counts and for timing it. Root moves are split across a ForkJoinPool and
+ * each worker walks its subtree on its own MutableBoard, or, with "boards", through the
+ * immutable Board/Move pipeline the GUI uses. "hash=<MB>" shares a PerftCache between the
+ * workers so transposed subtrees are counted once.
+ *
+ *   java com.chess.engine.perft.Perft <depth> [divide] [boards] [hash=<MB>] [fen]
+ *
+ * Runs headless; the standard position is used when no FEN is given.
+ */
+public final class Perft {
+
+    private Perft() {
+        throw new RuntimeException("Cannot instantiate Perft!");
+    }
+
+    public static void main(final String[] args) {
+        if (args.length == 0) {
+            System.out.println("usage: Perft <depth> [divide] [boards] [hash=<MB>] [fen]");
+            return;
+        }
+        final int depth = Integer.parseInt(args[0]);
+        final List<String> options = new ArrayList<>(Arrays.asList(args).subList(1, args.length));
+        final boolean divide = options.remove("divide");
+        final boolean useBoards = options.remove("boards");
+        PerftCache cache = null;
+        // no FEN field starts with "hash=", so the option may come before or after the FEN
+        for (final Iterator<String> iterator = options.iterator(); iterator.hasNext(); ) {
+            final String option = iterator.next();
+            if (option.startsWith("hash=")) {
+                cache = new PerftCache(Integer.parseInt(option.substring("hash=".length())));
+                iterator.remove();
+            }
+        }
+        final Board board = options.isEmpty() ? Board.createStandardBoard() :
+                FenUtilities.createBoardFromFEN(String.join(" ", options));
+
+        final long start = System.nanoTime();
+        final Map<String, Long> counts = divide(board, depth, useBoards, cache, ForkJoinPool.commonPool());
+        final long elapsed = System.nanoTime() - start;
+        long nodes = 0;
+        for (final Map.Entry<String, Long> entry : counts.entrySet()) {
+            if (divide) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+            }
+            nodes += entry.getValue();
+        }
+        System.out.println("Nodes: " + nodes);
+        System.out.println("Time: " + elapsed / 1_000_000 + " ms");
+        System.out.println("Nodes/second: " + (elapsed == 0 ? nodes : nodes * 1_000_000_000L / elapsed));
+    }
+
+    public static long perft(final Board board,
+                             final int depth) {
+        long nodes = 0;
+        for (final long count : divide(board, depth, false, null, ForkJoinPool.commonPool()).values()) {
+            nodes += count;
+        }
+        return depth == 0 ? 1 : nodes;
+    }
+
+    // Leaf count below each root move, in generation order, keyed by coordinate notation; cache may be null
+    public static Map<String, Long> divide(final Board board,
+                                           final int depth,
+                                           final boolean useBoards,
+                                           final PerftCache cache,
+                                           final ForkJoinPool pool) {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        if (depth == 0) {
+            return counts;
+        }
+        final List<RootMoveTask> tasks = new ArrayList<>();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            tasks.add(new RootMoveTask(board, move, depth - 1, useBoards, cache));
+        }
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                invokeAll(tasks);
+                return null;
+            }
+        });
+        for (final RootMoveTask task : tasks) {
+            counts.put(PackedMove.toString(task.move.getPackedMove()), task.join());
+        }
+        return counts;
+    }
+
+    static long count(final MutableBoard board,
+                      final int depth,
+                      final MoveBuffers buffers,
+                      final PerftCache cache) {
+        if (depth == 0) {
+            return 1;
+        }
+        // a hit skips move generation as well as the subtree
+        if (depth > 1 && cache != null) {
+            final long cached = cache.probe(board.getZobristKey(), depth);
+            if (cached >= 0) {
+                return cached;
+            }
+        }
+        final int[] moves = buffers.forPly(board.getPly());
+        final int count = board.generateMoves(moves);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            nodes += count(board, depth - 1, buffers, cache);
+            board.unmakeMove();
+        }
+        if (cache != null) {
+            cache.store(board.getZobristKey(), depth, nodes);
+        }
+        return nodes;
+    }
+
+    static long count(final Board board,
+                      final int depth,
+                      final PerftCache cache) {
+        if (depth <= 1) {
+            return depth == 1 ? board.currentPlayer().getLegalMoveCount() : 1;
+        }
+        if (cache != null) {
+            final long cached = cache.probe(board.getZobristKey(), depth);
+            if (cached >= 0) {
+                return cached;
+            }
+        }
+        long nodes = 0;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            nodes += count(move.execute(), depth - 1, cache);
+        }
+        if (cache != null) {
+            cache.store(board.getZobristKey(), depth, nodes);
+        }
+        return nodes;
+    }
+
+    private static final class RootMoveTask extends RecursiveTask<Long> {
+
+        private final Board board;
+        private final Move move;
+        private final int depth;
+        private final boolean useBoards;
+        private final PerftCache cache;
+
+        RootMoveTask(final Board board,
+                     final Move move,
+                     final int depth,
+                     final boolean useBoards,
+                     final PerftCache cache) {
+            this.board = board;
+            this.move = move;
+            this.depth = depth;
+            this.useBoards = useBoards;
+            this.cache = cache;
+        }
+
+        @Override
+        protected Long compute() {
+            if (this.useBoards) {
+                return count(this.move.execute(), this.depth, this.cache);
+            }
+            final MutableBoard mutableBoard = new MutableBoard(this.board);
+            mutableBoard.makeMove(this.move);
+            return count(mutableBoard, this.depth, new MoveBuffers(this.depth + 2), this.cache);
+        }
+    }
+}
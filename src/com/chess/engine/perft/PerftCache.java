@@ -0,0 +1,58 @@
+package com.chess.engine.perft;
+
+/*
+ * Fixed-size table of subtree node counts keyed by Zobrist key and depth, shared by all perft
+ * workers without locks. Each entry is two longs: the packed count and depth, and the key
+ * XORed with that data. A reader accepts an entry only if the XOR gives back its key, so an
+ * entry torn by two workers writing at once just reads as a miss.
+ */
+public final class PerftCache {
+
+    private static final int DEPTH_BITS = 8;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    // 2^30 longs is the largest power-of-two array Java allows, so budgets over 8 GB are capped
+    private static final int MAX_ENTRIES = 1 << 29;
+
+    private final long[] entries;
+    private final int indexMask;
+
+    public PerftCache(final int megabytes) {
+        final long budget = (long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY;
+        if (budget < 1) {
+            throw new IllegalArgumentException("Perft cache needs at least 1 MB");
+        }
+        // largest power of two within the budget, so the index is a mask of the key
+        final int numEntries = Integer.highestOneBit((int) Math.min(budget, MAX_ENTRIES));
+        this.entries = new long[numEntries * 2];
+        this.indexMask = numEntries - 1;
+    }
+
+    // The stored count, or -1 if this key and depth are not in the table
+    public long probe(final long zobristKey,
+                      final int depth) {
+        final int index = index(zobristKey);
+        final long data = this.entries[index + 1];
+        if ((this.entries[index] ^ data) == zobristKey && (data & DEPTH_MASK) == depth) {
+            return data >>> DEPTH_BITS;
+        }
+        return -1;
+    }
+
+    public void store(final long zobristKey,
+                      final int depth,
+                      final long nodes) {
+        final int index = index(zobristKey);
+        final long data = nodes << DEPTH_BITS | depth;
+        this.entries[index] = zobristKey ^ data;
+        this.entries[index + 1] = data;
+    }
+
+    public int size() {
+        return this.entries.length / 2;
+    }
+
+    private int index(final long zobristKey) {
+        return ((int) zobristKey & this.indexMask) * 2;
+    }
+}
@@ -1,65 +1,19 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
-import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Move.AttackMove;
-import com.chess.engine.board.Move.MajorAttackMove;
-import com.chess.engine.board.Move.MajorMove;
-import com.chess.engine.board.Tile;
-import com.google.common.collect.ImmutableList;
-
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
 
 public class King extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDS = {-9, -8, -7, -1, 1, 7, 8, 9};
-
-    public King(final int piecePosition, final Alliance pieceAlliance) {
-        super(PieceType.KING, piecePosition, pieceAlliance, true);
-    }
-
-    public King(final Alliance pieceAlliance,
-                final int piecePosition,
-                final boolean isFirstMove) {
+    King(final Alliance pieceAlliance,
+         final int piecePosition,
+         final boolean isFirstMove) {
         super(PieceType.KING, piecePosition, pieceAlliance, isFirstMove);
     }
 
-    @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
-
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDS) {
-            final int candidateDestinationCoordinate =  this.piecePosition + currentCandidateOffset;
-
-            if (isFirstFileExclusion(this.piecePosition, currentCandidateOffset) ||
-                    isEighthFileExclusion(this.piecePosition, currentCandidateOffset)) {
-                continue;
-            }
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-                if (!candidateDestinationTile.isOccupied()) {
-                    legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));   // Valid, non-attacking move
-                } else {
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-                    if (this.pieceAlliance != pieceAlliance) {
-                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));   // Valid, attacking move
-                    }
-                }
-            }
-        }
-
-        return ImmutableList.copyOf(legalMoves);
-    }
-
     @Override
     public King movePiece(Move move) {
-        return new King(move.getDestinationCoordinate(), move.getMovedPiece().getPieceAlliance());
+        return (King) createPiece(PieceType.KING, move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
     }
 
 
@@ -67,14 +21,4 @@ public class King extends Piece {
     public String toString() {
         return PieceType.KING.toString();
     }
-
-    private static boolean isFirstFileExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.FIRST_FILE[currentPosition] && ((candidateOffset == -9) || (candidateOffset == -1)
-                || (candidateOffset == 7));
-    }
-
-    private static boolean isEighthFileExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.EIGHTH_FILE[currentPosition] && ((candidateOffset == -7) || (candidateOffset == 1)
-                || (candidateOffset == 9));
-    }
 }
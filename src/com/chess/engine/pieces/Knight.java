@@ -1,65 +1,19 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
-import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Move.MajorMove;
-import com.chess.engine.board.Tile;
-import com.google.common.collect.ImmutableList;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import static com.chess.engine.board.Move.*;
 
 public class Knight extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDS = {-17, -15, -10, -6, 6, 10, 15, 17};
-
-    public Knight(final int piecePosition, final Alliance pieceAlliance) {
-        super(PieceType.KNIGHT, piecePosition, pieceAlliance, true);
-    }
-
-    public Knight(final Alliance pieceAlliance,
-                final int piecePosition,
-                final boolean isFirstMove) {
+    Knight(final Alliance pieceAlliance,
+           final int piecePosition,
+           final boolean isFirstMove) {
         super(PieceType.KNIGHT, piecePosition, pieceAlliance, isFirstMove);
     }
 
-    @Override
-    public List<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDS) {
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-
-                if (isFirstFileExclusion(this.piecePosition, currentCandidateOffset) ||
-                        isSecondFileExclusion(this.piecePosition, currentCandidateOffset) ||
-                        isSeventhFileExclusion(this.piecePosition, currentCandidateOffset) ||
-                        isEighthFileExclusion(this.piecePosition, currentCandidateOffset)) {
-                    continue;
-                }
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-                if (!candidateDestinationTile.isOccupied()) {
-                    legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));   // Valid, non-attacking move
-                } else {
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-                    if (this.pieceAlliance != pieceAlliance) {
-                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,  pieceAtDestination));   // Valid, attacking move
-                    }
-                }
-            }
-        }
-
-        return ImmutableList.copyOf(legalMoves);
-    }
-
     @Override
     public Knight movePiece(Move move) {
-        return new Knight(move.getDestinationCoordinate(), move.getMovedPiece().getPieceAlliance());
+        return (Knight) createPiece(PieceType.KNIGHT, move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
     }
 
 
@@ -67,24 +21,4 @@ public class Knight extends Piece {
     public String toString() {
         return PieceType.KNIGHT.toString();
     }
-
-    // Edge cases for when knight can't move as usual (1st, 2nd and 7th, 8th ranks)
-    private static boolean isFirstFileExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.FIRST_FILE[currentPosition] && ((candidateOffset == -17) || (candidateOffset == -10)
-        || (candidateOffset == 6) || (candidateOffset == 15));
-    }
-
-    private static boolean isSecondFileExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.SECOND_FILE[currentPosition] && ((candidateOffset == -10) || (candidateOffset == 6));
-    }
-
-    private static boolean isSeventhFileExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.SEVENTH_FILE[currentPosition] && ((candidateOffset == -6) || (candidateOffset == 10));
-    }
-
-    private static boolean isEighthFileExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.EIGHTH_FILE[currentPosition] && ((candidateOffset == -15) || (candidateOffset == -6)
-        || (candidateOffset == 10) || (candidateOffset == 17));
-    }
-
 }
@@ -1,85 +1,19 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
-import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.google.common.collect.ImmutableList;
-
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-
-import static com.chess.engine.board.Move.*;
 
 public class Pawn extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDS = {8, 7, 9, 16};
-
-
-    public Pawn(final int piecePosition, final Alliance pieceAlliance) {
-        super(PieceType.PAWN, piecePosition, pieceAlliance, true);
-    }
-
-    public Pawn(final Alliance pieceAlliance,
-                final int piecePosition,
-                final boolean isFirstMove) {
+    Pawn(final Alliance pieceAlliance,
+         final int piecePosition,
+         final boolean isFirstMove) {
         super(PieceType.PAWN, piecePosition, pieceAlliance, isFirstMove);
     }
 
-    @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
-
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDS) {
-            int candidateDestinationCoordinate = this.piecePosition + (this.getPieceAlliance().getDirection() * currentCandidateOffset);
-
-            if (!BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                continue;
-            }
-
-            if (currentCandidateOffset == 8 && !board.getTile(candidateDestinationCoordinate).isOccupied()) {
-                // TODO more to do here (pawn promote, en passant)
-                legalMoves.add(new PawnMove(board, this, candidateDestinationCoordinate));
-            } else if (currentCandidateOffset == 16 && this.isFirstMove() &&
-                    ((BoardUtils.SEVENTH_RANK[this.piecePosition] && this.pieceAlliance.isBlack()) ||
-                    (BoardUtils.SECOND_RANK[this.piecePosition] && this.pieceAlliance.isWhite()))) {
-                final int behindCandidateDestinationCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() * 8);
-                if (!board.getTile(behindCandidateDestinationCoordinate).isOccupied() &&
-                        !board.getTile(candidateDestinationCoordinate).isOccupied()) {
-                    legalMoves.add(new PawnJump(board, this, candidateDestinationCoordinate));
-
-                }
-            } else if (currentCandidateOffset == 7 &&
-                    !(BoardUtils.EIGHTH_FILE[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                            (BoardUtils.FIRST_FILE[this.piecePosition] && this.pieceAlliance.isBlack()))) {
-                if (board.getTile(candidateDestinationCoordinate).isOccupied()) {
-                    final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        // take
-                        legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-                    }
-                }
-            } else if (currentCandidateOffset == 9 &&
-                    !(BoardUtils.FIRST_FILE[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                            (BoardUtils.EIGHTH_FILE[this.piecePosition] && this.pieceAlliance.isBlack()))) {
-                if (board.getTile(candidateDestinationCoordinate).isOccupied()) {
-                    final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        // take
-                        legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-                    }
-                }
-            }
-
-        }
-        return ImmutableList.copyOf(legalMoves);
-    }
-
     @Override
     public Pawn movePiece(Move move) {
-        return new Pawn(move.getDestinationCoordinate(), move.getMovedPiece().getPieceAlliance());
+        return (Pawn) createPiece(PieceType.PAWN, move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
     }
 
 
@@ -2,12 +2,20 @@ package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.player.Player;
 
 import java.util.Collection;
 
 public abstract class Piece {
 
+    // Every type, alliance, tile and first-move flag, each with one canonical instance
+    public static final int NUM_FLYWEIGHTS = Alliance.values().length * PieceType.values().length * BoardUtils.NUM_TILES * 2;
+
     protected final PieceType pieceType;
     protected final int piecePosition;
     protected final Alliance pieceAlliance;
@@ -34,18 +42,10 @@ public abstract class Piece {
         return result;
     }
 
+    // Every piece comes from the PieceCache, so equal pieces are the same instance
     @Override
     public boolean equals(final Object other) {
-        if (this == other) {
-            return true;
-        }
-        if (!(other instanceof Piece)) {
-            return false;
-        }
-        final Piece otherPiece = (Piece) other;
-        return piecePosition == otherPiece.getPiecePosition() && pieceType == otherPiece.getPieceType() &&
-                pieceAlliance == otherPiece.getPieceAlliance() && isFirstMove == otherPiece.isFirstMove();
-
+        return this == other;
     }
 
     @Override
@@ -77,10 +77,85 @@ public abstract class Piece {
         return this.pieceType.getPieceValue();
     }
 
-    public abstract Collection<Move> calculateLegalMoves(final Board board);
+    // This piece's share of its player's legal moves
+    public Collection<Move> calculateLegalMoves(final Board board) {
+        final Player player = this.pieceAlliance.isWhite() ? board.whitePlayer() : board.blackPlayer();
+        final int[] moves = new int[MoveGenerator.MAX_PIECE_MOVES];
+        int count = 0;
+        final int numLegalMoves = player.getLegalMoveCount();
+        for (int i = 0; i < numLegalMoves; i++) {
+            final int move = player.getPackedLegalMove(i);
+            if (PackedMove.getCurrentCoordinate(move) == this.piecePosition) {
+                moves[count++] = move;
+            }
+        }
+        return MoveFactory.createMoves(board, moves, count);
+    }
 
     public abstract Piece movePiece(Move move);
 
+    // The canonical instance; pieces are immutable, so moving one is a table lookup, not an allocation
+    public static Piece createPiece(final PieceType pieceType,
+                                    final Alliance pieceAlliance,
+                                    final int piecePosition,
+                                    final boolean isFirstMove) {
+        return PieceCache.PIECES[flyweightIndex(pieceType, pieceAlliance, piecePosition, isFirstMove)];
+    }
+
+    /*
+     * Where a piece sits among the NUM_FLYWEIGHTS canonical instances. The piece cache and
+     * Tile's occupied-tile cache are both laid out by this index, so they always agree.
+     */
+    public static int flyweightIndex(final PieceType pieceType,
+                                     final Alliance pieceAlliance,
+                                     final int piecePosition,
+                                     final boolean isFirstMove) {
+        final int pieceIndex = pieceAlliance.ordinal() * PieceType.values().length + pieceType.ordinal();
+        return (pieceIndex * BoardUtils.NUM_TILES + piecePosition) * 2 + (isFirstMove ? 1 : 0);
+    }
+
+    public static int flyweightIndex(final Piece piece) {
+        return flyweightIndex(piece.pieceType, piece.pieceAlliance, piece.piecePosition, piece.isFirstMove);
+    }
+
+    private static Piece instantiate(final PieceType pieceType,
+                                     final Alliance pieceAlliance,
+                                     final int piecePosition,
+                                     final boolean isFirstMove) {
+        switch (pieceType) {
+            case PAWN:
+                return new Pawn(pieceAlliance, piecePosition, isFirstMove);
+            case KNIGHT:
+                return new Knight(pieceAlliance, piecePosition, isFirstMove);
+            case BISHOP:
+                return new Bishop(pieceAlliance, piecePosition, isFirstMove);
+            case ROOK:
+                return new Rook(pieceAlliance, piecePosition, isFirstMove);
+            case QUEEN:
+                return new Queen(pieceAlliance, piecePosition, isFirstMove);
+            default:
+                return new King(pieceAlliance, piecePosition, isFirstMove);
+        }
+    }
+
+    // The NUM_FLYWEIGHTS canonical pieces (1536), built on first use
+    private static final class PieceCache {
+
+        private static final Piece[] PIECES = initPieces();
+
+        private static Piece[] initPieces() {
+            final Piece[] pieces = new Piece[NUM_FLYWEIGHTS];
+            for (final Alliance alliance : Alliance.values()) {
+                for (final PieceType pieceType : PieceType.values()) {
+                    for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+                        pieces[flyweightIndex(pieceType, alliance, i, false)] = instantiate(pieceType, alliance, i, false);
+                        pieces[flyweightIndex(pieceType, alliance, i, true)] = instantiate(pieceType, alliance, i, true);
+                    }
+                }
+            }
+            return pieces;
+        }
+    }
 
     public enum PieceType {
 
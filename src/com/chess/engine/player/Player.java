@@ -3,53 +3,84 @@ package com.chess.engine.player;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveIndex;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.List;
 
 import static com.chess.engine.player.MoveStatus.DONE;
 
 public abstract class Player {
     
     protected final Board board;
-    protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean isInCheck;
-    
-    Player(final Board board, 
-           final Collection<Move> legalMoves, 
-           final Collection<Move> opponentMoves) {
-        
+    // Worked out lazily and published through volatile writes, since boards are shared between threads
+    private volatile King playerKing;
+    private volatile int[] legalMoves;
+    private volatile MoveIndex legalMoveIndex;
+    private volatile Boolean isInCheck;
+    private volatile Collection<Move> legalMoveViews;
+
+    // Nothing is computed up front; a board built only for display or as an intermediate never pays for it
+    Player(final Board board) {
         this.board = board;
-        this.playerKing = establishKing();
-        this.legalMoves =  ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentMoves)));
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
-        
     }
 
     public King getPlayerKing() {
-        return this.playerKing;
+        King king = this.playerKing;
+        if (king == null) {
+            king = establishKing();
+            this.playerKing = king;
+        }
+        return king;
     }
 
-    public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+    // Packed legal moves, castles included; a copy, so the caller may reorder it freely
+    public int[] getPackedLegalMoves() {
+        return packedLegalMoves().clone();
     }
 
-    protected static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> moves) {
-        final List<Move> attackMoves = new ArrayList<>();
+    public int getLegalMoveCount() {
+        return packedLegalMoves().length;
+    }
 
-        for (final Move move : moves) {
-            if (piecePosition == move.getDestinationCoordinate()) {
-                attackMoves.add(move);
-            }
+    public int getPackedLegalMove(final int index) {
+        return packedLegalMoves()[index];
+    }
+
+    // The memoised list MoveIndex is built over; never handed out, as rewriting it would corrupt the index
+    private int[] packedLegalMoves() {
+        int[] moves = this.legalMoves;
+        if (moves == null) {
+            final int[] legalMoves = new int[MoveGenerator.MAX_MOVES];
+            moves = Arrays.copyOf(legalMoves, MoveGenerator.generateLegalMoves(this.board, getAlliance(), legalMoves, 0));
+            this.legalMoves = moves;
         }
+        return moves;
+    }
+
+    // Legal moves by from/to tile, for validating and looking up moves without scanning the list
+    public MoveIndex getLegalMoveIndex() {
+        MoveIndex index = this.legalMoveIndex;
+        if (index == null) {
+            index = new MoveIndex(packedLegalMoves());
+            this.legalMoveIndex = index;
+        }
+        return index;
+    }
 
-        return ImmutableList.copyOf(attackMoves);
+    // Move objects are only built the first time someone asks for them
+    public Collection<Move> getLegalMoves() {
+        Collection<Move> moves = this.legalMoveViews;
+        if (moves == null) {
+            final int[] packedMoves = packedLegalMoves();
+            moves = MoveFactory.createMoves(this.board, packedMoves, packedMoves.length);
+            this.legalMoveViews = moves;
+        }
+        return moves;
     }
 
     private King establishKing() {
@@ -61,31 +92,31 @@ public abstract class Player {
         throw new RuntimeException("Invalid board, no king found!");
     }
 
+    // A move built on an equal board is accepted too, since it plays out the same way from there
     public boolean isMoveLegal(final Move move) {
-        return this.legalMoves.contains(move);
+        return this.board.equals(move.getBoard()) && getLegalMoveIndex().contains(move.getPackedMove());
     }
 
     public boolean isInCheck() {
-        return this.isInCheck;
+        Boolean inCheck = this.isInCheck;
+        if (inCheck == null) {
+            inCheck = this.board.isSquareAttacked(getPlayerKing().getPiecePosition(), getAlliance().opposite());
+            this.isInCheck = inCheck;
+        }
+        return inCheck;
     }
 
     public boolean isInCheckmate() {
-        return this.isInCheck && !hasEscapeMoves();
+        return isInCheck() && !hasEscapeMoves();
     }
 
-    protected boolean hasEscapeMoves() {
-        for (final Move move : this.legalMoves) {
-            final MoveTransition transition = makeMove(move);
-            if (transition.getMoveStatus().isDone()) {
-                return true;
-            }
-        }
-
-        return false;
+    // Moves come from the legal generator, so any move at all is an escape
+    public boolean hasEscapeMoves() {
+        return getLegalMoveCount() != 0;
     }
 
     public boolean isInStalemate() {
-        return !this.isInCheck && !hasEscapeMoves();
+        return !isInCheck() && !hasEscapeMoves();
     }
 
     // TODO implement methods
@@ -93,27 +124,18 @@ public abstract class Player {
         return false;
     }
 
+    // Legal moves never leave the king in check, so there is no board to build speculatively
     public MoveTransition makeMove(final Move move) {
 
         if (!isMoveLegal(move)) {
             return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
 
-        final Board transitionBoard = move.execute();
-
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                transitionBoard.currentPlayer().getLegalMoves());
-
-        if (!kingAttacks.isEmpty()) {
-            return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-        }
-
-        return new MoveTransition(transitionBoard, move, DONE);
+        return new MoveTransition(move.execute(), move, DONE);
     }
 
     public abstract Collection<Piece> getActivePieces();
     public abstract Alliance getAlliance();
     public abstract Player getOpponent();
-    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentsLegals);
 
 }
@@ -0,0 +1,301 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoards;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.MoveBuffers;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.StaticExchange;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/*
+ * Fixed-depth negamax alpha-beta over a MutableBoard, so a node costs a make/unmake pair and a
+ * legal move generation into a per-ply buffer instead of a new Board. Scores are from the point
+ * of view of the side to move. Results go into a TranspositionTable, which cuts off positions
+ * already searched deeply enough and otherwise supplies the move to try first; MoveOrdering
+ * decides the order of the rest. Leaves are resolved by a quiescence search over captures.
+ * One instance searches one root position on one thread. deepen() runs the iterative deepening
+ * loop and keeps the result of the deepest iteration that finished, so several instances can
+ * search the same position side by side over a shared table (see IterativeDeepening).
+ */
+final class AlphaBetaSearch {
+
+    static final int INFINITY = 1_000_000;
+    static final int MATE = 100_000;
+
+    // Scores beyond this are mates; the table stores them relative to the node, not the root
+    private static final int MATE_BOUND = MATE - MoveBuffers.DEFAULT_MAX_PLY;
+
+    // Nodes between looks at the clock, minus one
+    private static final int CLOCK_CHECK_MASK = 4095;
+
+    private final MutableBoard board;
+    private final MoveBuffers buffers;
+    private final BoardEvaluator evaluator;
+    private final TranspositionTable table;
+    private final MoveOrdering ordering;
+    private final int[] exchangeGains;
+    private final long deadline;
+
+    private long nodes;
+    private boolean canStop;
+    private boolean stopped;
+    private volatile boolean stopRequested;
+
+    private int bestMove = PackedMove.NULL_MOVE;
+    private int bestScore;
+    private int depthReached;
+
+    // deadline is a System.nanoTime() value, or Long.MAX_VALUE for no limit
+    AlphaBetaSearch(final Board board,
+                    final BoardEvaluator evaluator,
+                    final TranspositionTable table,
+                    final long deadline) {
+        this.board = new MutableBoard(board);
+        this.buffers = new MoveBuffers();
+        this.evaluator = evaluator;
+        this.table = table;
+        this.ordering = new MoveOrdering(this.buffers.getMaxPly());
+        this.exchangeGains = new int[StaticExchange.MAX_EXCHANGES];
+        this.deadline = deadline;
+    }
+
+    long getNodes() {
+        return this.nodes;
+    }
+
+    long getCutoffs() {
+        return this.ordering.getCutoffs();
+    }
+
+    long getFirstMoveCutoffs() {
+        return this.ordering.getFirstMoveCutoffs();
+    }
+
+    int getBestMove() {
+        return this.bestMove;
+    }
+
+    int getBestScore() {
+        return this.bestScore;
+    }
+
+    int getDepthReached() {
+        return this.depthReached;
+    }
+
+    int getMaxDepth() {
+        return this.buffers.getMaxPly() - 1;
+    }
+
+    // Safe to call from another thread; the search notices at its next look at the clock
+    void stop() {
+        this.stopRequested = true;
+    }
+
+    /*
+     * Searches the root moves at startDepth, startDepth + 1... up to maxDepth, each iteration
+     * starting with the previous best move. The clock is ignored until an iteration finishes, so
+     * a search started at depth 1 always has a move; one stopped early keeps its last result.
+     */
+    void deepen(final int[] rootMoves,
+                final int startDepth,
+                final int maxDepth) {
+        for (int depth = startDepth; depth <= maxDepth && rootMoves.length != 0; depth++) {
+            final int score = searchRoot(rootMoves, rootMoves.length, depth);
+            if (this.stopped) {
+                break;
+            }
+            this.bestMove = rootMoves[0];
+            this.bestScore = score;
+            this.depthReached = depth;
+            this.canStop = true;
+            // nothing deeper can change a forced mate that is already in reach
+            if (Math.abs(score) >= MATE - depth) {
+                break;
+            }
+        }
+    }
+
+    /*
+     * Searches every root move to depth and returns the best score. The best move is swapped to
+     * the front of rootMoves, so the next iteration searches it first. The result is meaningless
+     * if the search was stopped meanwhile.
+     */
+    private int searchRoot(final int[] rootMoves,
+                   final int count,
+                   final int depth) {
+        int alpha = -INFINITY;
+        int bestIndex = 0;
+        this.nodes++;
+        for (int i = 0; i < count; i++) {
+            this.board.makeMove(rootMoves[i]);
+            final int score = -alphaBeta(depth - 1, -INFINITY, -alpha);
+            this.board.unmakeMove();
+            if (this.stopped) {
+                return alpha;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestIndex = i;
+            }
+        }
+        final int bestMove = rootMoves[bestIndex];
+        System.arraycopy(rootMoves, 0, rootMoves, 1, bestIndex);
+        rootMoves[0] = bestMove;
+        return alpha;
+    }
+
+    private int alphaBeta(final int depth,
+                          int alpha,
+                          final int beta) {
+        if (countNode()) {
+            return 0;
+        }
+        if (depth == 0) {
+            return quiescence(alpha, beta);
+        }
+        final int ply = this.board.getPly();
+        final long zobristKey = this.board.getZobristKey();
+        final long entry = this.table.probe(zobristKey);
+        int tableMove = PackedMove.NULL_MOVE;
+        if (entry != TranspositionTable.MISS) {
+            tableMove = TranspositionTable.getMove(entry);
+            if (TranspositionTable.getDepth(entry) >= depth) {
+                final int score = fromTableScore(TranspositionTable.getScore(entry), ply);
+                final int bound = TranspositionTable.getBound(entry);
+                if (bound == TranspositionTable.EXACT ||
+                    bound == TranspositionTable.LOWER_BOUND && score >= beta ||
+                    bound == TranspositionTable.UPPER_BOUND && score <= alpha) {
+                    return score;
+                }
+            }
+        }
+
+        final int[] moves = this.buffers.forPly(ply);
+        final int count = this.board.generateMoves(moves);
+        if (count == 0) {
+            // mates found nearer the root score higher, so the shortest mate is preferred
+            return isInCheck() ? -MATE + ply : 0;
+        }
+        final Alliance moveMaker = this.board.getMoveMaker();
+        this.ordering.scoreMoves(moves, count, ply, tableMove, moveMaker);
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = PackedMove.NULL_MOVE;
+        for (int i = 0; i < count; i++) {
+            final int move = this.ordering.pickNext(moves, count, i, ply);
+            this.board.makeMove(move);
+            final int score = -alphaBeta(depth - 1, -beta, -alpha);
+            this.board.unmakeMove();
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    if (score >= beta) {
+                        if (!this.stopped) {
+                            this.ordering.recordCutoff(move, i, ply, depth, moveMaker);
+                        }
+                        break;
+                    }
+                    alpha = score;
+                }
+            }
+        }
+        if (!this.stopped) {
+            final int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND :
+                    bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+            this.table.store(zobristKey, depth, bound, toTableScore(bestScore, ply), bestMove);
+        }
+        return bestScore;
+    }
+
+    /*
+     * Plays out captures and promotions at the leaves until the position is quiet, so a leaf is
+     * never scored in the middle of an exchange. The side to move may stand pat on the static
+     * evaluation instead of capturing, and captures SEE says lose material are not searched. In
+     * check there is no standing pat: every evasion is searched and no evasion means mate.
+     */
+    private int quiescence(int alpha,
+                           final int beta) {
+        final int ply = this.board.getPly();
+        if (ply >= this.buffers.getMaxPly() - 1) {
+            return evaluate();
+        }
+        final Alliance moveMaker = this.board.getMoveMaker();
+        final int[] moves = this.buffers.forPly(ply);
+        final boolean inCheck = isInCheck();
+        final int count;
+        int bestScore;
+        if (inCheck) {
+            count = this.board.generateMoves(moves);
+            if (count == 0) {
+                return -MATE + ply;
+            }
+            bestScore = -INFINITY;
+        } else {
+            bestScore = evaluate();
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+            count = MoveGenerator.generateLegalCaptures(this.board, moveMaker, moves, 0);
+        }
+        this.ordering.scoreMoves(moves, count, ply, PackedMove.NULL_MOVE, moveMaker);
+        for (int i = 0; i < count; i++) {
+            final int move = this.ordering.pickNext(moves, count, i, ply);
+            if (!inCheck && StaticExchange.evaluate(this.board, move, this.exchangeGains) < 0) {
+                continue;
+            }
+            this.board.makeMove(move);
+            final int score = countNode() ? 0 : -quiescence(-beta, -alpha);
+            this.board.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    if (score >= beta) {
+                        break;
+                    }
+                    alpha = score;
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    // Counts the node and looks at the clock now and then; true once the search has to stop
+    private boolean countNode() {
+        this.nodes++;
+        if ((this.nodes & CLOCK_CHECK_MASK) == 0 &&
+            (this.stopRequested || this.canStop && System.nanoTime() >= this.deadline)) {
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
+    private static int toTableScore(final int score,
+                                    final int ply) {
+        return score >= MATE_BOUND ? score + ply : score <= -MATE_BOUND ? score - ply : score;
+    }
+
+    private static int fromTableScore(final int score,
+                                      final int ply) {
+        return score >= MATE_BOUND ? score - ply : score <= -MATE_BOUND ? score + ply : score;
+    }
+
+    private int evaluate() {
+        final int score = this.evaluator.evaluate(this.board);
+        return this.board.getMoveMaker().isWhite() ? score : -score;
+    }
+
+    private boolean isInCheck() {
+        final Alliance moveMaker = this.board.getMoveMaker();
+        final long king = this.board.getPieceBitBoard(moveMaker, PieceType.KING);
+        return this.board.isSquareAttacked(BitBoards.firstTile(king), moveMaker.opposite());
+    }
+}
@@ -0,0 +1,12 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Position;
+
+/*
+ * Static evaluation of a position, in centipawns from White's point of view, so a positive
+ * score means White is better whoever is to move.
+ */
+public interface BoardEvaluator {
+
+    int evaluate(Position position);
+}
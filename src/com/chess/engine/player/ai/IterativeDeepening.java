@@ -0,0 +1,223 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Alpha-beta search repeated at depth 1, 2, 3... until the depth or time budget runs out, each
+ * iteration starting with the previous one's best move. The move returned comes from the
+ * deepest iteration that finished; an iteration cut short by the clock is thrown away. The
+ * chosen move is played through Player.makeMove before it is returned, so the strategy never
+ * hands back a move the rules model would reject.
+ *
+ * With more than one thread the search runs Lazy SMP: helper threads from the ForkJoinPool run
+ * the same iterative deepening over the shared transposition table, odd helpers starting a ply
+ * deeper and each trying the root moves in a different order, so they fill the table with
+ * results the calling thread can use. When the calling thread finishes, the helpers are stopped
+ * and the deepest finished iteration of any thread is returned.
+ *
+ * Statistics describe the last call to execute and count every thread's nodes. Not
+ * thread-safe; use one instance per concurrent caller.
+ */
+public final class IterativeDeepening implements MoveStrategy {
+
+    public static final long NO_TIME_LIMIT = 0;
+    public static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    private final BoardEvaluator evaluator;
+    private final TranspositionTable table;
+    private final int searchDepth;
+    private final long timeLimitMillis;
+    private final int threads;
+    private final ForkJoinPool pool;
+
+    private long nodesSearched;
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    private long elapsedNanos;
+    private int depthReached;
+    private int bestScore;
+
+    public IterativeDeepening(final int searchDepth) {
+        this(searchDepth, NO_TIME_LIMIT);
+    }
+
+    public IterativeDeepening(final int searchDepth,
+                              final long timeLimitMillis) {
+        this(new StandardBoardEvaluator(), searchDepth, timeLimitMillis);
+    }
+
+    public IterativeDeepening(final int searchDepth,
+                              final long timeLimitMillis,
+                              final int threads) {
+        this(new StandardBoardEvaluator(), searchDepth, timeLimitMillis,
+                new TranspositionTable(DEFAULT_TABLE_MEGABYTES), threads);
+    }
+
+    public IterativeDeepening(final BoardEvaluator evaluator,
+                              final int searchDepth,
+                              final long timeLimitMillis) {
+        this(evaluator, searchDepth, timeLimitMillis, new TranspositionTable(DEFAULT_TABLE_MEGABYTES), 1);
+    }
+
+    // The table is kept between calls, and may be shared with strategies on other threads
+    public IterativeDeepening(final BoardEvaluator evaluator,
+                              final int searchDepth,
+                              final long timeLimitMillis,
+                              final TranspositionTable table,
+                              final int threads) {
+        this(evaluator, searchDepth, timeLimitMillis, table, threads, ForkJoinPool.commonPool());
+    }
+
+    // Helpers run on the pool, so it needs threads - 1 workers free for the search to scale
+    public IterativeDeepening(final BoardEvaluator evaluator,
+                              final int searchDepth,
+                              final long timeLimitMillis,
+                              final TranspositionTable table,
+                              final int threads,
+                              final ForkJoinPool pool) {
+        if (searchDepth < 1) {
+            throw new IllegalArgumentException("Search depth must be at least 1: " + searchDepth);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Search needs at least 1 thread: " + threads);
+        }
+        this.evaluator = evaluator;
+        this.table = table;
+        this.searchDepth = searchDepth;
+        this.timeLimitMillis = timeLimitMillis;
+        this.threads = threads;
+        this.pool = pool;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long start = System.nanoTime();
+        final long deadline = this.timeLimitMillis == NO_TIME_LIMIT ? Long.MAX_VALUE :
+                start + TimeUnit.MILLISECONDS.toNanos(this.timeLimitMillis);
+        final int[] rootMoves = board.currentPlayer().getPackedLegalMoves();
+        this.table.newSearch();
+
+        // every thread gets its own MutableBoard built from the shared immutable board
+        final AlphaBetaSearch[] searches = new AlphaBetaSearch[this.threads];
+        for (int i = 0; i < this.threads; i++) {
+            searches[i] = new AlphaBetaSearch(board, this.evaluator, this.table, deadline);
+        }
+        final int maxDepth = Math.min(this.searchDepth, searches[0].getMaxDepth());
+        final List<HelperTask> helpers = new ArrayList<>();
+        for (int i = 1; i < this.threads && rootMoves.length > 1; i++) {
+            final HelperTask helper = new HelperTask(searches[i], rotate(rootMoves, i), 1 + i % 2, maxDepth);
+            this.pool.execute(helper);
+            helpers.add(helper);
+        }
+        searches[0].deepen(rootMoves, 1, maxDepth);
+        for (final HelperTask helper : helpers) {
+            helper.search.stop();
+        }
+        for (final HelperTask helper : helpers) {
+            helper.join();
+        }
+
+        // the calling thread's result wins ties, since it searched every depth up to its own
+        AlphaBetaSearch best = searches[0];
+        this.nodesSearched = 0;
+        this.cutoffs = 0;
+        this.firstMoveCutoffs = 0;
+        for (final AlphaBetaSearch search : searches) {
+            this.nodesSearched += search.getNodes();
+            this.cutoffs += search.getCutoffs();
+            this.firstMoveCutoffs += search.getFirstMoveCutoffs();
+            if (search.getDepthReached() > best.getDepthReached()) {
+                best = search;
+            }
+        }
+        final int bestMove = best.getBestMove();
+        this.bestScore = best.getBestScore();
+        this.depthReached = best.getDepthReached();
+        this.elapsedNanos = System.nanoTime() - start;
+
+        final Move move = MoveFactory.createMove(board, bestMove);
+        if (bestMove != PackedMove.NULL_MOVE) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (!transition.getMoveStatus().isDone()) {
+                throw new RuntimeException("Search chose an illegal move: " + PackedMove.toString(bestMove));
+            }
+        }
+        return move;
+    }
+
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.elapsedNanos);
+    }
+
+    public long getNodesPerSecond() {
+        return this.elapsedNanos == 0 ? this.nodesSearched : this.nodesSearched * 1_000_000_000L / this.elapsedNanos;
+    }
+
+    // Share of beta cutoffs caused by the first move a node tried, a measure of move ordering
+    public double getFirstMoveCutoffRate() {
+        return this.cutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.cutoffs;
+    }
+
+    public int getDepthReached() {
+        return this.depthReached;
+    }
+
+    // Centipawns for the side that moved, from the deepest finished iteration
+    public int getBestScore() {
+        return this.bestScore;
+    }
+
+    // The root moves in a different order for each helper, so helpers spread over the tree
+    private static int[] rotate(final int[] moves,
+                                final int distance) {
+        final int[] rotated = new int[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            rotated[i] = moves[(i + distance) % moves.length];
+        }
+        return rotated;
+    }
+
+    @Override
+    public String toString() {
+        return "IterativeDeepening threads=" + this.threads + " depth=" + this.depthReached + " score=" + this.bestScore +
+               " nodes=" + this.nodesSearched + " time=" + getElapsedMillis() + "ms nps=" + getNodesPerSecond() +
+               String.format(" first-move-cutoffs=%.1f%%", getFirstMoveCutoffRate() * 100);
+    }
+
+    private static final class HelperTask extends RecursiveAction {
+
+        private final AlphaBetaSearch search;
+        private final int[] rootMoves;
+        private final int startDepth;
+        private final int maxDepth;
+
+        HelperTask(final AlphaBetaSearch search,
+                   final int[] rootMoves,
+                   final int startDepth,
+                   final int maxDepth) {
+            this.search = search;
+            this.rootMoves = rootMoves;
+            this.startDepth = startDepth;
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        protected void compute() {
+            this.search.deepen(this.rootMoves, this.startDepth, this.maxDepth);
+        }
+    }
+}
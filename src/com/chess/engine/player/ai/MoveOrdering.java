@@ -0,0 +1,160 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoards;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/*
+ * Decides which move a node tries next. Moves are scored once when the node's list is
+ * generated, then pickNext() selects the best remaining move, so a node cut off after a move
+ * or two never pays for sorting the rest. The order is:
+ *
+ *   1. the transposition table move
+ *   2. captures and queen promotions, most valuable victim first, then least valuable attacker
+ *   3. the two killer moves of the ply, quiet moves that caused a cutoff in a sibling node
+ *   4. other quiet moves, by how often the same piece moving to the same tile caused cutoffs
+ *   5. under-promotions, which are almost never best
+ *
+ * Killers and history are learned during the search and kept across iterations. One instance
+ * per AlphaBetaSearch; not thread-safe.
+ */
+final class MoveOrdering {
+
+    private static final int TABLE_MOVE_SCORE = Integer.MAX_VALUE;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int FIRST_KILLER_SCORE = CAPTURE_SCORE - 1;
+    private static final int SECOND_KILLER_SCORE = CAPTURE_SCORE - 2;
+    // History scores stay below the killers; the table is halved when an entry would pass this
+    private static final int MAX_HISTORY_SCORE = CAPTURE_SCORE / 2;
+    // History scores are never negative, so under-promotions come after every quiet move
+    private static final int UNDER_PROMOTION_SCORE = -1;
+
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+
+    private static final int[] PIECE_VALUES = createPieceValues();
+
+    private final int[][] scores;
+    private final int[][] killers;
+    private final int[][] history;
+
+    private long cutoffs;
+    private long firstMoveCutoffs;
+
+    MoveOrdering(final int maxPly) {
+        this.scores = new int[maxPly][MoveGenerator.MAX_MOVES];
+        this.killers = new int[maxPly][2];
+        this.history = new int[BitBoards.NUM_PIECE_BITBOARDS][BoardUtils.NUM_TILES];
+    }
+
+    long getCutoffs() {
+        return this.cutoffs;
+    }
+
+    // Cutoffs caused by the first move tried; the closer to all of them, the better the order
+    long getFirstMoveCutoffs() {
+        return this.firstMoveCutoffs;
+    }
+
+    void scoreMoves(final int[] moves,
+                    final int count,
+                    final int ply,
+                    final int tableMove,
+                    final Alliance moveMaker) {
+        final int[] scores = this.scores[ply];
+        final int[] killers = this.killers[ply];
+        final int historyOffset = moveMaker.ordinal() * BitBoards.NUM_PIECE_TYPES;
+        for (int i = 0; i < count; i++) {
+            final int move = moves[i];
+            if (move == tableMove) {
+                scores[i] = TABLE_MOVE_SCORE;
+            } else if (PackedMove.isPromotion(move) && PackedMove.getPromotionType(move) != QUEEN) {
+                scores[i] = UNDER_PROMOTION_SCORE;
+            } else if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+                scores[i] = CAPTURE_SCORE + captureScore(move);
+            } else if (move == killers[0]) {
+                scores[i] = FIRST_KILLER_SCORE;
+            } else if (move == killers[1]) {
+                scores[i] = SECOND_KILLER_SCORE;
+            } else {
+                scores[i] = this.history[historyOffset + PackedMove.getMovedType(move)][PackedMove.getDestinationCoordinate(move)];
+            }
+        }
+    }
+
+    // Swaps the best of moves[index..count) into moves[index] and returns it
+    int pickNext(final int[] moves,
+                 final int count,
+                 final int index,
+                 final int ply) {
+        final int[] scores = this.scores[ply];
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        final int move = moves[best];
+        if (best != index) {
+            moves[best] = moves[index];
+            moves[index] = move;
+            final int score = scores[best];
+            scores[best] = scores[index];
+            scores[index] = score;
+        }
+        return move;
+    }
+
+    // moveNumber is the move's position in the order the node tried its moves, counting from 0
+    void recordCutoff(final int move,
+                      final int moveNumber,
+                      final int ply,
+                      final int depth,
+                      final Alliance moveMaker) {
+        this.cutoffs++;
+        if (moveNumber == 0) {
+            this.firstMoveCutoffs++;
+        }
+        if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+            return;
+        }
+        final int[] killers = this.killers[ply];
+        if (killers[0] != move) {
+            killers[1] = killers[0];
+            killers[0] = move;
+        }
+        final int[] history = this.history[moveMaker.ordinal() * BitBoards.NUM_PIECE_TYPES + PackedMove.getMovedType(move)];
+        final int destination = PackedMove.getDestinationCoordinate(move);
+        history[destination] += depth * depth;
+        if (history[destination] > MAX_HISTORY_SCORE) {
+            ageHistory();
+        }
+    }
+
+    private void ageHistory() {
+        for (final int[] history : this.history) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] /= 2;
+            }
+        }
+    }
+
+    // Victim value dominates; the attacker's value only breaks ties between equal victims
+    private static int captureScore(final int move) {
+        final int capturedType = PackedMove.getCapturedType(move);
+        final int victim = capturedType == PackedMove.NO_PIECE_TYPE ? 0 : PIECE_VALUES[capturedType];
+        final int promotion = PackedMove.isPromotion(move) ? PIECE_VALUES[PackedMove.getPromotionType(move)] : 0;
+        return (victim + promotion) * 16 - PIECE_VALUES[PackedMove.getMovedType(move)] / 100;
+    }
+
+    private static int[] createPieceValues() {
+        final PieceType[] pieceTypes = PieceType.values();
+        final int[] values = new int[pieceTypes.length];
+        for (final PieceType pieceType : pieceTypes) {
+            values[pieceType.ordinal()] = pieceType.getPieceValue();
+        }
+        return values;
+    }
+}
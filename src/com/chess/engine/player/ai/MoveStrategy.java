@@ -0,0 +1,14 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+/*
+ * Picks a move for the side to move on a board. Implementations are how a computer player plugs
+ * in; the GUI or a service only ever sees this interface.
+ */
+public interface MoveStrategy {
+
+    // A legal move for board.currentPlayer(), or Move.NULL_MOVE if it has none
+    Move execute(Board board);
+}
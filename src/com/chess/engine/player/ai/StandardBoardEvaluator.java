@@ -0,0 +1,20 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.PieceSquareTables;
+import com.chess.engine.board.Position;
+
+/*
+ * Tapered material and piece-square evaluation: the middlegame and endgame scores from
+ * PieceSquareTables, blended by how much material is left. A MutableBoard keeps both scores
+ * and the phase up to date as moves are made, so a leaf costs a few multiplications; any
+ * other Position works them out from its bitboards.
+ */
+public final class StandardBoardEvaluator implements BoardEvaluator {
+
+    @Override
+    public int evaluate(final Position position) {
+        final int phase = Math.min(position.getGamePhase(), PieceSquareTables.MAX_PHASE);
+        return (position.getMiddlegameScore() * phase +
+                position.getEndgameScore() * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+    }
+}
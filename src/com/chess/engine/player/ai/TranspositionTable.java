@@ -0,0 +1,136 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.PackedMove;
+
+import java.util.Arrays;
+
+/*
+ * Fixed-size table of search results keyed by Zobrist key, shared by any number of search
+ * threads without locks. Each entry is two longs: the packed data and the key XORed with that
+ * data, and a probe accepts an entry only if the XOR gives back its key, so an entry torn by two
+ * threads writing at once reads as a miss (the same scheme as PerftCache).
+ *
+ * Entries come in buckets of two. The first slot keeps the deepest result for its key unless it
+ * is left over from an earlier search; anything it refuses goes to the second slot, which is
+ * always overwritten, so shallow results near the leaves still get cached.
+ *
+ *   data bits  0-23  best move (PackedMove), or NULL_MOVE
+ *   data bits 24-31  depth
+ *   data bits 32-33  bound
+ *   data bits 34-39  generation
+ *   data bits 40-63  score, signed
+ */
+public final class TranspositionTable {
+
+    public static final long MISS = 0;
+
+    // Never zero, so a stored entry is never mistaken for MISS
+    public static final int UPPER_BOUND = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int EXACT = 3;
+
+    private static final int MOVE_MASK = (1 << 24) - 1;
+    private static final int DEPTH_SHIFT = 24;
+    private static final int DEPTH_MASK = 0xFF;
+    private static final int BOUND_SHIFT = 32;
+    private static final int BOUND_MASK = 0x3;
+    private static final int GENERATION_SHIFT = 34;
+    private static final int GENERATION_MASK = 0x3F;
+    private static final int SCORE_SHIFT = 40;
+
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int ENTRIES_PER_BUCKET = 2;
+    private static final int LONGS_PER_BUCKET = LONGS_PER_ENTRY * ENTRIES_PER_BUCKET;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+
+    private final long[] entries;
+    private final int bucketMask;
+    private volatile int generation;
+
+    public TranspositionTable(final int megabytes) {
+        final long budget = (long) megabytes * 1024 * 1024 / BYTES_PER_BUCKET;
+        if (budget < 1) {
+            throw new IllegalArgumentException("Transposition table needs at least 1 MB");
+        }
+        // largest power of two within the budget, so the bucket is a mask of the key
+        final int numBuckets = Integer.highestOneBit((int) Math.min(budget, 1 << 28));
+        this.entries = new long[numBuckets * LONGS_PER_BUCKET];
+        this.bucketMask = numBuckets - 1;
+    }
+
+    // The entry stored for this key, or MISS; decode it with the static getters
+    public long probe(final long zobristKey) {
+        final int bucket = bucket(zobristKey);
+        for (int index = bucket; index < bucket + LONGS_PER_BUCKET; index += LONGS_PER_ENTRY) {
+            final long data = this.entries[index + 1];
+            if ((this.entries[index] ^ data) == zobristKey && data != MISS) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    public void store(final long zobristKey,
+                      final int depth,
+                      final int bound,
+                      final int score,
+                      final int packedMove) {
+        final int bucket = bucket(zobristKey);
+        final long stored = this.entries[bucket + 1];
+        final boolean sameKey = (this.entries[bucket] ^ stored) == zobristKey;
+        final int index = sameKey || stored == MISS || getDepth(stored) <= depth ||
+                getGeneration(stored) != this.generation ? bucket : bucket + LONGS_PER_ENTRY;
+        // a result without a move keeps the move an earlier search found for the same position
+        int move = packedMove;
+        if (move == PackedMove.NULL_MOVE) {
+            final long previous = probe(zobristKey);
+            if (previous != MISS) {
+                move = getMove(previous);
+            }
+        }
+        final long data = (long) move |
+                          (long) Math.min(depth, DEPTH_MASK) << DEPTH_SHIFT |
+                          (long) bound << BOUND_SHIFT |
+                          (long) this.generation << GENERATION_SHIFT |
+                          (long) score << SCORE_SHIFT;
+        this.entries[index] = zobristKey ^ data;
+        this.entries[index + 1] = data;
+    }
+
+    // Marks the start of a new search, so entries from earlier searches give way to new ones
+    public void newSearch() {
+        this.generation = (this.generation + 1) & GENERATION_MASK;
+    }
+
+    public void clear() {
+        Arrays.fill(this.entries, 0L);
+    }
+
+    public int size() {
+        return this.entries.length / LONGS_PER_ENTRY;
+    }
+
+    public static int getMove(final long entry) {
+        return (int) entry & MOVE_MASK;
+    }
+
+    public static int getDepth(final long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & DEPTH_MASK;
+    }
+
+    public static int getBound(final long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & BOUND_MASK;
+    }
+
+    public static int getScore(final long entry) {
+        return (int) (entry >> SCORE_SHIFT);
+    }
+
+    private static int getGeneration(final long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+
+    private int bucket(final long zobristKey) {
+        return ((int) zobristKey & this.bucketMask) * LONGS_PER_BUCKET;
+    }
+}
@@ -60,12 +60,14 @@ public class GameHistoryPanel extends JPanel {
     }
 
     private String calculateCheckAndCheckMateHash(final Board board) {
-        if (board.currentPlayer().isInCheckmate()) {
-            return "#";
-        } else if (board.currentPlayer().isInCheck()) {
-            return "+";
+        switch (board.getGameStatus()) {
+            case CHECKMATE:
+                return "#";
+            case CHECK:
+                return "+";
+            default:
+                return "";
         }
-        return "";
     }
 
     private static class DataModel extends DefaultTableModel {